@@ -1,2 +1,8 @@
 # Theese are the specific proguard rules to be shipped with this library
-# in order to successfully build consumer app when it's running proguard
\ No newline at end of file
+# in order to successfully build consumer app when it's running proguard
+
+# Instantiated by the ServiceLoader of ResultDispatchers in valid-core,
+# listed in META-INF/services
+-keep class com.danieleperuzzi.valid.android.MainThreadResultDispatcher {
+    public <init>();
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.android;
+
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.AnyThread;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+
+/**
+ * Delivers every result on the thread of the Looper of a Handler, a result produced
+ * on that thread is delivered right away.
+ *
+ * <p>This is what the validators use by default, with the Looper of the main thread.</p>
+ */
+public class HandlerResultDispatcher implements ResultDispatcher {
+
+    private final Handler handler;
+    private final Looper looper;
+
+    /**
+     * @return  the dispatcher that delivers the results on the main thread, the same
+     *          instance is shared by every caller
+     */
+    public static HandlerResultDispatcher forMainThread() {
+        return MainThreadHolder.INSTANCE;
+    }
+
+    /**
+     * @param handler   the Handler whose Looper thread delivers the results
+     */
+    public HandlerResultDispatcher(Handler handler) {
+        this.handler = handler;
+        this.looper = handler.getLooper();
+    }
+
+    @AnyThread
+    @Override
+    public boolean isDispatchThread() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return looper.isCurrentThread();
+        }
+        return Thread.currentThread().equals(looper.getThread());
+    }
+
+    @Override
+    public void dispatch(Runnable task) {
+        handler.post(task);
+    }
+
+    @Override
+    public void dispatchDelayed(Runnable task, long delayMillis) {
+        handler.postDelayed(task, delayMillis);
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        handler.removeCallbacks(task);
+    }
+
+    /**
+     * Creates the main thread dispatcher the first time it is needed
+     */
+    private static final class MainThreadHolder {
+
+        private static final HandlerResultDispatcher INSTANCE = new MainThreadResultDispatcher();
+    }
+}
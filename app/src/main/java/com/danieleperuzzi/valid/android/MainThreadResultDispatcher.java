@@ -14,20 +14,21 @@
  * limitations under the License.
  */
 
-package com.danieleperuzzi.valid.core.collectionvalidator;
+package com.danieleperuzzi.valid.android;
 
-import com.danieleperuzzi.valid.core.CollectionValidator;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.danieleperuzzi.valid.core.dispatcher.ResultDispatchers;
 
 /**
- * Used by the {@link BulkValidator} to get new {@link BulkValidatorProcessor}
- * every time it needs.
+ * The {@link HandlerResultDispatcher} of the main thread, registered as a service in
+ * {@code META-INF/services} so {@link ResultDispatchers#platformDefault()} finds it
+ * when the Android library is on the classpath.
  */
-public class BulkValidatorProcessorFactory {
-
-    public BulkValidatorProcessorFactory() {
-    }
+public class MainThreadResultDispatcher extends HandlerResultDispatcher {
 
-    BulkValidatorProcessor createBulkValidatorProcessor(int validableInstances, CollectionValidator.Callback callback) {
-        return new BulkValidatorProcessor(validableInstances, callback);
+    public MainThreadResultDispatcher() {
+        super(new Handler(Looper.getMainLooper()));
     }
 }
@@ -14,11 +14,11 @@
  * limitations under the License.
  */
 
-package com.danieleperuzzi.valid.core.validator.impl;
+package com.danieleperuzzi.valid.android;
 
 import android.os.Handler;
-import android.os.Looper;
 
+import com.danieleperuzzi.valid.core.ResultDispatcher;
 import com.danieleperuzzi.valid.core.validator.BaseValidator;
 import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmFactory;
 
@@ -27,14 +27,16 @@ import java.util.concurrent.Executor;
 public class MainThreadValidator extends BaseValidator {
 
     private static final ValidatorAlgorithmFactory factory = new ValidatorAlgorithmFactory();
-    private static final Looper mainThreadLooper = Looper.getMainLooper();
-    private static final Handler mainThreadHandler = new Handler(mainThreadLooper);
 
     public MainThreadValidator() {
-        this(Runnable::run, factory, mainThreadHandler);
+        this(Runnable::run, factory, HandlerResultDispatcher.forMainThread());
+    }
+
+    protected MainThreadValidator(Executor executor, ValidatorAlgorithmFactory factory, ResultDispatcher resultDispatcher) {
+        super(executor, factory, resultDispatcher);
     }
 
     protected MainThreadValidator(Executor executor, ValidatorAlgorithmFactory factory, Handler mainThreadHandler) {
-        super(executor, factory, mainThreadHandler);
+        super(executor, factory, new HandlerResultDispatcher(mainThreadHandler));
     }
 }
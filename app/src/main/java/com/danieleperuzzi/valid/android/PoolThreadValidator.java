@@ -14,11 +14,11 @@
  * limitations under the License.
  */
 
-package com.danieleperuzzi.valid.core.validator.impl;
+package com.danieleperuzzi.valid.android;
 
 import android.os.Handler;
-import android.os.Looper;
 
+import com.danieleperuzzi.valid.core.ResultDispatcher;
 import com.danieleperuzzi.valid.core.validator.BaseValidator;
 import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmFactory;
 
@@ -30,14 +30,16 @@ public class PoolThreadValidator extends BaseValidator {
     private static int cpuNum = Runtime.getRuntime().availableProcessors();
 
     private static final ValidatorAlgorithmFactory factory = new ValidatorAlgorithmFactory();
-    private static final Looper mainThreadLooper = Looper.getMainLooper();
-    private static final Handler mainThreadHandler = new Handler(mainThreadLooper);
 
     public PoolThreadValidator() {
-        this(Executors.newFixedThreadPool(cpuNum), factory, mainThreadHandler);
+        this(Executors.newFixedThreadPool(cpuNum), factory, HandlerResultDispatcher.forMainThread());
+    }
+
+    protected PoolThreadValidator(Executor executor, ValidatorAlgorithmFactory factory, ResultDispatcher resultDispatcher) {
+        super(executor, factory, resultDispatcher);
     }
 
     protected PoolThreadValidator(Executor executor, ValidatorAlgorithmFactory factory, Handler mainThreadHandler) {
-        super(executor, factory, mainThreadHandler);
+        super(executor, factory, new HandlerResultDispatcher(mainThreadHandler));
     }
 }
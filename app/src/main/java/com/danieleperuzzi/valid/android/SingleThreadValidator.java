@@ -14,11 +14,11 @@
  * limitations under the License.
  */
 
-package com.danieleperuzzi.valid.core.validator.impl;
+package com.danieleperuzzi.valid.android;
 
 import android.os.Handler;
-import android.os.Looper;
 
+import com.danieleperuzzi.valid.core.ResultDispatcher;
 import com.danieleperuzzi.valid.core.validator.BaseValidator;
 import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmFactory;
 
@@ -28,14 +28,16 @@ import java.util.concurrent.Executors;
 public class SingleThreadValidator extends BaseValidator {
 
     private static final ValidatorAlgorithmFactory factory = new ValidatorAlgorithmFactory();
-    private static final Looper mainThreadLooper = Looper.getMainLooper();
-    private static final Handler mainThreadHandler = new Handler(mainThreadLooper);
 
     public SingleThreadValidator() {
-        this(Executors.newSingleThreadExecutor(), factory, mainThreadHandler);
+        this(Executors.newSingleThreadExecutor(), factory, HandlerResultDispatcher.forMainThread());
+    }
+
+    protected SingleThreadValidator(Executor executor, ValidatorAlgorithmFactory factory, ResultDispatcher resultDispatcher) {
+        super(executor, factory, resultDispatcher);
     }
 
     protected SingleThreadValidator(Executor executor, ValidatorAlgorithmFactory factory, Handler mainThreadHandler) {
-        super(executor, factory, mainThreadHandler);
+        super(executor, factory, new HandlerResultDispatcher(mainThreadHandler));
     }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core;
+
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.ValidatorObserver;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * If we need to validate more than one {@link Validable} Object at a time and, instead,
+ * we need to validate them all together we can use this interface
+ */
+public interface CollectionValidator {
+
+    /**
+     * It starts the validation on a map of <{@link Validable}, {@link SortedConstraintSet}> and then
+     * post the result using the supplied callback.
+     *
+     * @param constraintSetByValidableMap   map of <{@link Validable}, {@link SortedConstraintSet}>
+     *                                      to be validated
+     * @param callback                      callback used to post the validation result
+     */
+    void validateCollection(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, Callback callback);
+
+    /**
+     * The fail-fast version of {@link #validateCollection(Map, Callback)}, used when we only
+     * need to know if at least one {@link Validable} is not valid.
+     *
+     * <p>As soon as the first not valid {@link Validable} is found the callback is invoked with
+     * {@link ValidableCollectionStatus#AT_LEAST_ONE_NOT_VALID} and a map that holds only its
+     * result, the validations still waiting or running are cancelled. Otherwise the callback
+     * is invoked with {@link ValidableCollectionStatus#ALL_VALID} and an empty map because the
+     * results are not collected, use {@link #validateCollection(Map, Callback)} to get them.</p>
+     *
+     * <p>By default it validates the whole collection with {@link #validateCollection(Map, Callback)}
+     * and only hands the first not valid result to the callback, implementations that can stop
+     * early override it.</p>
+     *
+     * @param constraintSetByValidableMap   map of <{@link Validable}, {@link SortedConstraintSet}>
+     *                                      to be validated
+     * @param callback                      callback used to post the validation result
+     */
+    default void validateCollectionFailFast(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, Callback callback) {
+        if (callback == null) {
+            validateCollection(constraintSetByValidableMap, null);
+            return;
+        }
+
+        Callback failFastCallback = (validatorResultByValidableMap, status) -> {
+            for (Map.Entry<Validable<?>, ValidatorResult> entry : validatorResultByValidableMap.entrySet()) {
+                if (entry.getValue().status != ValidableStatus.VALID) {
+                    callback.status(Collections.<Validable<?>, ValidatorResult>singletonMap(entry.getKey(), entry.getValue()),
+                            ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID);
+                    return;
+                }
+            }
+
+            callback.status(Collections.<Validable<?>, ValidatorResult>emptyMap(), ValidableCollectionStatus.ALL_VALID);
+        };
+
+        if (callback instanceof FailureCallback) {
+            validateCollection(constraintSetByValidableMap, new FailureCallback() {
+                @Override
+                public void failed(Throwable error) {
+                    ((FailureCallback) callback).failed(error);
+                }
+
+                @Override
+                public void status(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+                    failFastCallback.status(validatorResultByValidableMap, status);
+                }
+            });
+        } else {
+            validateCollection(constraintSetByValidableMap, failFastCallback);
+        }
+    }
+
+    /**
+     * This interface is the callback itself, invoked by the CollectionValidator
+     * when the validation process ends.
+     *
+     * <p>It is also used in some situations when we want to be constantly informed
+     * about the changes on a set of {@link Validable}, see {@link ValidatorObserver}
+     * for more references.</p>
+     */
+    interface Callback {
+
+        /**
+         * The class that implements this method receives a reference to a
+         * Map of <{@link Validable}, {@link ValidatorResult}> that holds
+         * the precise result of the collection validation process. It also receives
+         * a synthetic result in the form of {@link ValidableCollectionStatus}.
+         *
+         * <p>It is also invoked when we are observing a {@link Validable} set
+         * to get informations about the global state every time one of them
+         * is validated</p>
+         *
+         * @param validatorResultByValidableMap     map of <{@link Validable}, {@link ValidatorResult}>
+         * @param status                            the global status of the {@link Validable} set
+         */
+        void status(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status);
+    }
+
+    /**
+     * A {@link Callback} that, when used to observe a {@link Validable} set, only receives
+     * what changed instead of all the results, see {@link ValidatorObserver}.
+     *
+     * <p>A collection validation has no previous results so every result is new and
+     * {@link #status(Map, ValidableCollectionStatus)} is invoked as usual, the
+     * {@link ValidatorObserver} instead invokes only {@link #changed(Map, ValidableCollectionStatus)}.</p>
+     */
+    interface DeltaCallback extends Callback {
+
+        /**
+         * Invoked every time the result of at least one observed {@link Validable} changes
+         *
+         * @param changedResultByValidableMap   map of <{@link Validable}, {@link ValidatorResult}>
+         *                                      that only holds the changed results
+         * @param status                        the global status of the {@link Validable} set
+         */
+        void changed(Map<Validable<?>, ValidatorResult> changedResultByValidableMap, ValidableCollectionStatus status);
+    }
+
+    /**
+     * A {@link Callback} that is also told when the collection validation fails, for example
+     * because a constraint throws, instead of {@link #status(Map, ValidableCollectionStatus)}.
+     *
+     * <p>Collection validators that run on other threads invoke it where they would have
+     * invoked {@link #status(Map, ValidableCollectionStatus)}, a plain {@link Callback} gets
+     * the exception thrown there instead.</p>
+     */
+    interface FailureCallback extends Callback {
+
+        /**
+         * @param error     the exception that stopped the validation
+         */
+        void failed(Throwable error);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core;
+
+/**
+ * Decides on which thread the results of the validations are delivered, the
+ * {@link Validator} and the {@link CollectionValidator} implementations hand every
+ * result to a dispatcher instead of relying on a particular thread.
+ *
+ * <p>See the implementations in {@link com.danieleperuzzi.valid.core.dispatcher}:</p>
+ *
+ * <ul>
+ *     <li>{@link com.danieleperuzzi.valid.core.dispatcher.DirectResultDispatcher} delivers
+ *     on the thread that produced the result, without any thread hop</li>
+ *     <li>{@link com.danieleperuzzi.valid.core.dispatcher.ExecutorResultDispatcher} delivers
+ *     on an Executor</li>
+ *     <li>{@code HandlerResultDispatcher}, in the Android library, delivers
+ *     on the thread of an Android Looper, usually the main thread</li>
+ * </ul>
+ */
+public interface ResultDispatcher {
+
+    /**
+     * @return  true if the current thread is the one results are delivered on, so a result
+     *          can be delivered right away
+     */
+    boolean isDispatchThread();
+
+    /**
+     * @param task  the task that delivers a result
+     */
+    void dispatch(Runnable task);
+
+    /**
+     * Used to debounce validations, see
+     * {@link com.danieleperuzzi.valid.core.validator.BaseValidator#enableCoalescing(long)}
+     *
+     * @param task          the task to run
+     * @param delayMillis   how long to wait before running it
+     * @throws UnsupportedOperationException    if the dispatcher can not delay tasks
+     */
+    void dispatchDelayed(Runnable task, long delayMillis);
+
+    /**
+     * @return  false if {@link #dispatchDelayed(Runnable, long)} throws because the dispatcher
+     *          can not delay tasks
+     */
+    default boolean canDispatchDelayed() {
+        return true;
+    }
+
+    /**
+     * @param task  a task given to {@link #dispatchDelayed(Runnable, long)} that should not
+     *              run anymore, it has no effect if the task already ran
+     */
+    void cancel(Runnable task);
+}
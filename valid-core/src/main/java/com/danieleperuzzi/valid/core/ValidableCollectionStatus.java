@@ -18,10 +18,15 @@ package com.danieleperuzzi.valid.core;
 
 /**
  * Every time we want to know the global status of a collection of
- * {@link Validable} we can expect only these two outputs: if at least one
+ * {@link Validable} a validation gives one of two outputs: if at least one
  * of them does not pass the validation then the entire process fails.
+ *
+ * <p>The third one, {@link #PENDING}, is only reported by a
+ * {@link com.danieleperuzzi.valid.core.validator.ValidatorObserver} whose initial
+ * status is still being computed.</p>
  */
 public enum ValidableCollectionStatus {
     ALL_VALID,
-    AT_LEAST_ONE_NOT_VALID
+    AT_LEAST_ONE_NOT_VALID,
+    PENDING
 }
\ No newline at end of file
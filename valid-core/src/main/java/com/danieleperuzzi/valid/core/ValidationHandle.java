@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core;
+
+/**
+ * Returned by {@link Validator} for every validation started, it allows to cancel
+ * the validation when its result is no longer needed, for example because the screen
+ * has been left or the value has changed.
+ *
+ * <p>Cancellation is cooperative: a validation already evaluating a constraint finishes
+ * that evaluation but does not evaluate the following ones. Once cancelled the
+ * {@link Validator.Callback} is never invoked and no
+ * {@link com.danieleperuzzi.valid.core.validator.ValidatorObserver} is notified.</p>
+ */
+public interface ValidationHandle {
+
+    /**
+     * Cancels the validation, it has no effect if the result has already been delivered
+     */
+    void cancel();
+
+    /**
+     * @return  true if {@link #cancel()} has been invoked
+     */
+    boolean isCancelled();
+}
@@ -39,8 +39,9 @@ public interface Validator {
      * @param value         the {@link Validable} Object that is going to be validated
      * @param constraint    the {@link Constraint} used to check the validable
      * @param callback      {@link Callback} used to post the validation result
+     * @return              the {@link ValidationHandle} to cancel the validation
      */
-    void validate(Validable<?> value, Constraint<?, ?> constraint, Callback callback);
+    ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, Callback callback);
 
     /**
      * This method accepts one more parameter respect the one above and it is an
@@ -55,8 +56,9 @@ public interface Validator {
      * @param constraint    the {@link Constraint} used to check the validable
      * @param observer      the optional {@link ValidatorObserver}
      * @param callback      {@link Callback} used to post the validation result
+     * @return              the {@link ValidationHandle} to cancel the validation
      */
-    void validate(Validable<?> value, Constraint<?, ?> constraint, @Nullable ValidatorObserver observer, Callback callback);
+    ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, @Nullable ValidatorObserver observer, Callback callback);
 
     /**
      * This method starts the validation on a {@link Validable} Object accordingly
@@ -67,8 +69,9 @@ public interface Validator {
      * @param constraintSet     the {@link SortedConstraintSet} that the value should all match
      *                          to be positive validated
      * @param callback          {@link Callback} used to post the validation result
+     * @return                  the {@link ValidationHandle} to cancel the validation
      */
-    void validate(Validable<?> value, SortedConstraintSet constraintSet, Callback callback);
+    ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, Callback callback);
 
     /**
      * This method accepts one more parameter respect the one above and it is an
@@ -81,8 +84,9 @@ public interface Validator {
      *                          to be positive validated
      * @param observer          the optional {@link ValidatorObserver}
      * @param callback          {@link Callback} used to post the validation result
+     * @return                  the {@link ValidationHandle} to cancel the validation
      */
-    void validate(Validable<?> value, SortedConstraintSet constraintSet, @Nullable ValidatorObserver observer, Callback callback);
+    ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, @Nullable ValidatorObserver observer, Callback callback);
 
     /**
      * This interface is the callback itself, invoked by the Validator
@@ -100,4 +104,15 @@ public interface Validator {
          */
         void status(Validable<?> value, ValidatorResult result);
     }
+
+    /**
+     * A {@link Callback} that does not need to run on the main thread, the Validator
+     * invokes it on the thread that ran the validation, sparing a post to the main thread
+     * for every result.
+     *
+     * <p>It is meant for callbacks that only collect results, the implementation must
+     * be thread safe.</p>
+     */
+    interface AnyThreadCallback extends Callback {
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core;
+
+/**
+ * A {@link Validable} that counts the changes of its value.
+ *
+ * <p>The version must change every time {@link #setValue(Object, String)} is invoked,
+ * so comparing two versions is enough to know if the value has changed without
+ * comparing the values themselves, see
+ * {@link com.danieleperuzzi.valid.core.validator.MemoizingValidator}</p>
+ *
+ * @param <V>   it can be anything, fromm String to complex Object
+ */
+public interface VersionedValidable<V> extends Validable<V> {
+
+    /**
+     * @return  the current version of the value held by this validable
+     */
+    long getVersion();
+}
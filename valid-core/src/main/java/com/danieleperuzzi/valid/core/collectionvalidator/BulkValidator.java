@@ -20,6 +20,7 @@ import com.danieleperuzzi.valid.core.CollectionValidator;
 import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
 import com.danieleperuzzi.valid.core.Validable;
 import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.validator.ValidableRegistry;
 
 import java.util.Map;
 
@@ -84,9 +85,9 @@ public class BulkValidator implements CollectionValidator {
      */
     @Override
     public void validateCollection(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, CollectionValidator.Callback callback) {
-        int validableInstances = constraintSetByValidableMap.size();
+        ValidableRegistry registry = new ValidableRegistry(constraintSetByValidableMap.keySet());
 
-        BulkValidatorProcessor callbackHolder = factory.createBulkValidatorProcessor(validableInstances, callback);
+        BulkValidatorProcessor callbackHolder = factory.createBulkValidatorProcessor(registry, callback);
 
         for (Map.Entry<Validable<?>, SortedConstraintSet> entry : constraintSetByValidableMap.entrySet()) {
             Validable<?> validable = entry.getKey();
@@ -95,4 +96,31 @@ public class BulkValidator implements CollectionValidator {
             validator.validate(validable, constraintSet, callbackHolder);
         }
     }
+
+    /**
+     * Same as {@link #validateCollection(Map, Callback)} but every validation is started
+     * with a {@link FailFastBulkValidatorProcessor} that cancels all of them as soon as one
+     * {@link Validable} is not valid, no validation is started once that is known.
+     *
+     * @param constraintSetByValidableMap   map of <{@link Validable}, {@link SortedConstraintSet}>
+     *                                      to be validated
+     * @param callback                      callback used to post the validation result
+     */
+    @Override
+    public void validateCollectionFailFast(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, CollectionValidator.Callback callback) {
+        int validableInstances = constraintSetByValidableMap.size();
+
+        FailFastBulkValidatorProcessor callbackHolder = factory.createFailFastBulkValidatorProcessor(validableInstances, callback);
+
+        for (Map.Entry<Validable<?>, SortedConstraintSet> entry : constraintSetByValidableMap.entrySet()) {
+            if (callbackHolder.isCompleted()) {
+                return;
+            }
+
+            Validable<?> validable = entry.getKey();
+            SortedConstraintSet constraintSet = entry.getValue();
+
+            callbackHolder.addValidationHandle(validator.validate(validable, constraintSet, callbackHolder));
+        }
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.collectionvalidator;
+
+import android.support.annotation.AnyThread;
+
+import com.danieleperuzzi.valid.core.CollectionValidator;
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.validator.ValidableRegistry;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.core.validator.ValidatorResultTable;
+import com.danieleperuzzi.valid.util.PersistentHashMap;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This Class encapsulates the logic behind {@link BulkValidator} process.
+ *
+ * <p>Its main purpose is to do some calculations to eventually determine
+ * if the set of {@link Validable} is all validated or there is at least one
+ * {@link Validable} that is not validated</p>
+ *
+ * <p>The main advantage of keeping this logic in a separated Class is that
+ * overlapped calls to the {@link BulkValidator#validateCollection(Map, CollectionValidator.Callback)}
+ * never produce an inconsistent state over this calculations</p>
+ *
+ * <p>Notice that this Class implements {@link Validator} callback so it can
+ * receive single validation result of all {@link Validable} in order to collect
+ * them and make decisions</p>
+ *
+ * <p>It is a {@link Validator.AnyThreadCallback} so the results are collected on the
+ * threads that run the validations, with atomic counters and a {@link ValidatorResultTable}
+ * indexed by the ids of a {@link ValidableRegistry}, and only the final result is handed
+ * to the {@link ResultDispatcher}, exactly once.</p>
+ *
+ * <p>The results are handed to the callback as a {@link PersistentHashMap} so they
+ * can be retained or passed to another thread without copying them.</p>
+ */
+public class BulkValidatorProcessor implements Validator.AnyThreadCallback {
+
+    private int validableInstances;
+    private CollectionValidator.Callback callback;
+    private ResultDispatcher resultDispatcher;
+
+    private final AtomicInteger validatedValidables = new AtomicInteger();
+    private final AtomicInteger notValidValidables = new AtomicInteger();
+
+    private final ValidatorResultTable validatorResultTable;
+
+    /**
+     * This Class is only used by the {@link BulkValidator} so package private
+     * access fits perfectly.
+     *
+     * @param registry              the {@link ValidableRegistry} of the {@link Validable}
+     *                              instances to be validated
+     * @param callback              the {@link CollectionValidator} callback used to post
+     *                              the bulk validator process result
+     * @param resultDispatcher      the {@link ResultDispatcher} that delivers the result
+     */
+    BulkValidatorProcessor(ValidableRegistry registry, CollectionValidator.Callback callback, ResultDispatcher resultDispatcher) {
+        this.validableInstances = registry.size();
+        this.callback = callback;
+        this.resultDispatcher = resultDispatcher;
+
+        validatorResultTable = new ValidatorResultTable(registry);
+    }
+
+    /**
+     * Here it happens the magic: this is the {@link Validator} callback and it is
+     * invoked exactly {@link #validableInstances} times, on any thread.
+     *
+     * <p>The result is stored before counting it, so the thread that counts the last
+     * result sees all of them and it is the only one that triggers the listener.</p>
+     *
+     * <p>All the {@link Validable} are valid if none of them is not valid.</p>
+     *
+     * @param value  the {@link Validable} Object that has been validated
+     * @param result the {@link ValidatorResult}
+     */
+    @AnyThread
+    public void status(Validable<?> value, ValidatorResult result) {
+        int id = validatorResultTable.getRegistry().getId(value);
+
+        if (id == ValidableRegistry.NOT_REGISTERED) {
+            return;
+        }
+
+        if (result.status != ValidableStatus.VALID) {
+            notValidValidables.incrementAndGet();
+        }
+
+        validatorResultTable.set(id, result);
+
+        if (validatedValidables.incrementAndGet() == validableInstances) {
+            if (notValidValidables.get() == 0) {
+                triggerListener(ValidableCollectionStatus.ALL_VALID);
+            } else {
+                triggerListener(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID);
+            }
+        }
+    }
+
+    /**
+     * It only takes care of calling the {@link CollectionValidator.Callback} through the
+     * {@link ResultDispatcher}, right away if we are already on its thread
+     *
+     * @param status    the global status of the {@link Validable} set
+     */
+    @AnyThread
+    private void triggerListener(ValidableCollectionStatus status) {
+        if (callback == null) {
+            return;
+        }
+
+        Map<Validable<?>, ValidatorResult> validatorResultByValidableMap = PersistentHashMap.copyOf(validatorResultTable.asMap());
+
+        if (resultDispatcher.isDispatchThread()) {
+            notifyCallback(validatorResultByValidableMap, status);
+        } else {
+            resultDispatcher.dispatch(() -> notifyCallback(validatorResultByValidableMap, status));
+        }
+    }
+
+    private void notifyCallback(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+        callback.status(validatorResultByValidableMap, status);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.collectionvalidator;
+
+import com.danieleperuzzi.valid.core.CollectionValidator;
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.dispatcher.ResultDispatchers;
+import com.danieleperuzzi.valid.core.validator.ValidableRegistry;
+
+/**
+ * Used by the {@link BulkValidator} to get new {@link BulkValidatorProcessor}
+ * or {@link FailFastBulkValidatorProcessor} every time it needs.
+ */
+public class BulkValidatorProcessorFactory {
+
+    private ResultDispatcher resultDispatcher;
+
+    /**
+     * Delivers the final results with {@link ResultDispatchers#platformDefault()}, on the
+     * main thread on Android
+     */
+    public BulkValidatorProcessorFactory() {
+        this(ResultDispatchers.platformDefault());
+    }
+
+    /**
+     * @param resultDispatcher      the {@link ResultDispatcher} used by the
+     *                              {@link BulkValidatorProcessor} to deliver the final result
+     */
+    public BulkValidatorProcessorFactory(ResultDispatcher resultDispatcher) {
+        this.resultDispatcher = resultDispatcher;
+    }
+
+    BulkValidatorProcessor createBulkValidatorProcessor(ValidableRegistry registry, CollectionValidator.Callback callback) {
+        return new BulkValidatorProcessor(registry, callback, resultDispatcher);
+    }
+
+    FailFastBulkValidatorProcessor createFailFastBulkValidatorProcessor(int validableInstances, CollectionValidator.Callback callback) {
+        return new FailFastBulkValidatorProcessor(validableInstances, callback, resultDispatcher);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.collectionvalidator;
+
+import android.support.annotation.AnyThread;
+
+import com.danieleperuzzi.valid.core.CollectionValidator;
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.ValidationHandle;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The counterpart of {@link BulkValidatorProcessor} for
+ * {@link BulkValidator#validateCollectionFailFast(Map, CollectionValidator.Callback)}.
+ *
+ * <p>It does not collect the results, it only counts them, and it completes as soon as the
+ * first not valid result arrives cancelling all the validations it knows about. The
+ * {@link CollectionValidator.Callback} is invoked exactly once through the
+ * {@link ResultDispatcher}.</p>
+ */
+public class FailFastBulkValidatorProcessor implements Validator.AnyThreadCallback {
+
+    private int validableInstances;
+    private CollectionValidator.Callback callback;
+    private ResultDispatcher resultDispatcher;
+
+    private final AtomicInteger validatedValidables = new AtomicInteger();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private final Queue<ValidationHandle> validationHandles = new ConcurrentLinkedQueue<>();
+
+    /**
+     * This Class is only used by the {@link BulkValidator} so package private
+     * access fits perfectly.
+     *
+     * @param validableInstances    the number of {@link Validable} instances to
+     *                              be validated
+     * @param callback              the {@link CollectionValidator} callback used to post
+     *                              the bulk validator process result
+     * @param resultDispatcher      the {@link ResultDispatcher} that delivers the result
+     */
+    FailFastBulkValidatorProcessor(int validableInstances, CollectionValidator.Callback callback, ResultDispatcher resultDispatcher) {
+        this.validableInstances = validableInstances;
+        this.callback = callback;
+        this.resultDispatcher = resultDispatcher;
+    }
+
+    /**
+     * @return  true once the final result is known, no more validations should be started
+     */
+    @AnyThread
+    boolean isCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Keeps track of a started validation in order to cancel it, it is cancelled right away
+     * if the final result is already known
+     *
+     * @param validationHandle  the handle of a validation started with this callback
+     */
+    @AnyThread
+    void addValidationHandle(ValidationHandle validationHandle) {
+        validationHandles.add(validationHandle);
+
+        if (completed.get()) {
+            validationHandle.cancel();
+        }
+    }
+
+    /**
+     * @param value  the {@link Validable} Object that has been validated
+     * @param result the {@link ValidatorResult}
+     */
+    @AnyThread
+    public void status(Validable<?> value, ValidatorResult result) {
+        if (result.status != ValidableStatus.VALID) {
+            if (completed.compareAndSet(false, true)) {
+                for (ValidationHandle validationHandle : validationHandles) {
+                    validationHandle.cancel();
+                }
+
+                triggerListener(Collections.<Validable<?>, ValidatorResult>singletonMap(value, result), ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID);
+            }
+            return;
+        }
+
+        if (validatedValidables.incrementAndGet() == validableInstances && completed.compareAndSet(false, true)) {
+            triggerListener(Collections.<Validable<?>, ValidatorResult>emptyMap(), ValidableCollectionStatus.ALL_VALID);
+        }
+    }
+
+    /**
+     * It only takes care of calling the {@link CollectionValidator.Callback} through the
+     * {@link ResultDispatcher}, right away if we are already on its thread
+     *
+     * @param validatorResultByValidableMap     map of <{@link Validable}, {@link ValidatorResult}>
+     * @param status                            the global status of the {@link Validable} set
+     */
+    @AnyThread
+    private void triggerListener(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+        if (callback == null) {
+            return;
+        }
+
+        if (resultDispatcher.isDispatchThread()) {
+            notifyCallback(validatorResultByValidableMap, status);
+        } else {
+            resultDispatcher.dispatch(() -> notifyCallback(validatorResultByValidableMap, status));
+        }
+    }
+
+    private void notifyCallback(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+        callback.status(validatorResultByValidableMap, status);
+    }
+}
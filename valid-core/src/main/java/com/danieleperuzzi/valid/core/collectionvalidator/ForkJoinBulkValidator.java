@@ -0,0 +1,365 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.collectionvalidator;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+
+import com.danieleperuzzi.valid.core.CollectionValidator;
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.dispatcher.ResultDispatchers;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmCallback;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmData;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmResult;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.core.validator.impl.ValidatorAlgorithm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link CollectionValidator} meant for large collections of {@link Validable}.
+ *
+ * <p>{@link BulkValidator} asks the {@link com.danieleperuzzi.valid.core.Validator} to validate
+ * every {@link Validable} on its own, so every one of them costs a task and a post to the
+ * main thread. This class instead splits the collection into chunks evaluated on a
+ * {@link ForkJoinPool}: every chunk is validated by one worker, one {@link Validable} after
+ * the other, idle workers steal the chunks not yet started and the partial results of
+ * the chunks are merged as soon as both halves are done.</p>
+ *
+ * <p>The {@link CollectionValidator.Callback} is invoked exactly once, through a
+ * {@link ResultDispatcher} that defaults to the main thread, when the whole collection
+ * has been validated, an empty collection is
+ * {@link ValidableCollectionStatus#ALL_VALID}.</p>
+ *
+ * <p>In fail-fast mode the results are not collected and the workers stop picking up
+ * {@link Validable} as soon as the first not valid one is found.</p>
+ *
+ * <p>If the validation throws, a {@link CollectionValidator.FailureCallback} is told through
+ * the {@link ResultDispatcher}, otherwise the exception is thrown again on the thread the
+ * dispatcher delivers on so it is not lost inside the pool. In fail-fast mode a failure
+ * that happens once the result has been posted is dropped.</p>
+ */
+public class ForkJoinBulkValidator implements CollectionValidator {
+
+    /**
+     * Below this size a chunk is not split any further
+     */
+    static final int MIN_CHUNK_SIZE = 64;
+
+    private ForkJoinPool pool;
+    private ResultDispatcher resultDispatcher;
+
+    /**
+     * Uses a pool with as many threads as the available processors and delivers the result
+     * with {@link ResultDispatchers#platformDefault()}, on the main thread on Android
+     */
+    public ForkJoinBulkValidator() {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors()), ResultDispatchers.platformDefault());
+    }
+
+    /**
+     * @param pool                  the pool that validates the collection
+     * @param resultDispatcher      the {@link ResultDispatcher} that delivers the result
+     */
+    public ForkJoinBulkValidator(ForkJoinPool pool, ResultDispatcher resultDispatcher) {
+        this.pool = pool;
+        this.resultDispatcher = resultDispatcher;
+    }
+
+    /**
+     * The value type of every {@link Validable} is checked against its {@link SortedConstraintSet}
+     * before any work is scheduled, see {@link SortedConstraintSet#bind(Validable)}
+     *
+     * @param constraintSetByValidableMap   map of <{@link Validable}, {@link SortedConstraintSet}>
+     *                                      to be validated
+     * @param callback                      callback used to post the validation result
+     */
+    @AnyThread
+    @Override
+    public void validateCollection(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, Callback callback) {
+        validateCollection(constraintSetByValidableMap, callback, null);
+    }
+
+    /**
+     * See {@link CollectionValidator#validateCollectionFailFast(Map, Callback)}
+     *
+     * @param constraintSetByValidableMap   map of <{@link Validable}, {@link SortedConstraintSet}>
+     *                                      to be validated
+     * @param callback                      callback used to post the validation result
+     */
+    @AnyThread
+    @Override
+    public void validateCollectionFailFast(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, Callback callback) {
+        validateCollection(constraintSetByValidableMap, callback, new FailFast(callback));
+    }
+
+    @AnyThread
+    private void validateCollection(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, Callback callback, @Nullable FailFast failFast) {
+        int size = constraintSetByValidableMap.size();
+        Validable<?>[] validables = new Validable<?>[size];
+        SortedConstraintSet[] constraintSets = new SortedConstraintSet[size];
+        int i = 0;
+
+        for (Map.Entry<Validable<?>, SortedConstraintSet> entry : constraintSetByValidableMap.entrySet()) {
+            validables[i] = entry.getKey();
+            constraintSets[i] = entry.getValue();
+            constraintSets[i].bind(validables[i]);
+            i++;
+        }
+
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+        pool.execute(new CollectionValidation(validables, constraintSets, chunkSize, callback, failFast));
+    }
+
+    /**
+     * Validates the whole collection and posts the result to the {@link ResultDispatcher}
+     */
+    private final class CollectionValidation extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Validable<?>[] validables;
+        private final SortedConstraintSet[] constraintSets;
+        private final int chunkSize;
+        private final Callback callback;
+        @Nullable private final FailFast failFast;
+
+        CollectionValidation(Validable<?>[] validables, SortedConstraintSet[] constraintSets, int chunkSize, Callback callback, @Nullable FailFast failFast) {
+            this.validables = validables;
+            this.constraintSets = constraintSets;
+            this.chunkSize = chunkSize;
+            this.callback = callback;
+            this.failFast = failFast;
+        }
+
+        @WorkerThread
+        @Override
+        protected void compute() {
+            PartialResult result;
+
+            try {
+                result = new ChunkValidation(validables, constraintSets, 0, validables.length, chunkSize, failFast).invoke();
+            } catch (RuntimeException | Error e) {
+                // in fail-fast mode the caller may already have its answer, a later
+                // failure of the chunks still running changes nothing so it is dropped
+                if (failFast == null || failFast.complete()) {
+                    postFailure(callback, e);
+                }
+                return;
+            }
+
+            if (failFast != null) {
+                failFast.allValidated();
+                return;
+            }
+
+            ValidableCollectionStatus status = result.notValidValidables == 0
+                    ? ValidableCollectionStatus.ALL_VALID
+                    : ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID;
+
+            if (callback != null) {
+                resultDispatcher.dispatch(() -> callback.status(result.validatorResultByValidableMap, status));
+            }
+        }
+    }
+
+    /**
+     * Tells a {@link CollectionValidator.FailureCallback} that the validation failed, any other
+     * {@link Callback} gets the exception thrown on the thread the dispatcher delivers on
+     *
+     * @param callback  the callback of the failed validation
+     * @param error     the exception that stopped the validation
+     */
+    @WorkerThread
+    private void postFailure(@Nullable Callback callback, Throwable error) {
+        if (callback instanceof CollectionValidator.FailureCallback) {
+            resultDispatcher.dispatch(() -> ((CollectionValidator.FailureCallback) callback).failed(error));
+        } else {
+            resultDispatcher.dispatch(() -> rethrow(error));
+        }
+    }
+
+    /**
+     * @param error     an unchecked exception, the only ones a validation can throw
+     */
+    private static void rethrow(Throwable error) {
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+
+        throw (RuntimeException) error;
+    }
+
+    /**
+     * Validates the {@link Validable} from {@link #from}, inclusive, to {@link #to}, exclusive,
+     * splitting them in two halves until they are no more than {@link #chunkSize}.
+     * In fail-fast mode it gives up as soon as a not valid {@link Validable} is found.
+     */
+    private static final class ChunkValidation extends RecursiveTask<PartialResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Validable<?>[] validables;
+        private final SortedConstraintSet[] constraintSets;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        @Nullable private final FailFast failFast;
+
+        ChunkValidation(Validable<?>[] validables, SortedConstraintSet[] constraintSets, int from, int to, int chunkSize, @Nullable FailFast failFast) {
+            this.validables = validables;
+            this.constraintSets = constraintSets;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.failFast = failFast;
+        }
+
+        @WorkerThread
+        @Override
+        protected PartialResult compute() {
+            if (failFast != null && failFast.isCompleted()) {
+                return new PartialResult(0);
+            }
+
+            if (to - from <= chunkSize) {
+                // in fail-fast mode there is nothing to collect
+                PartialResult result = new PartialResult(failFast == null ? to - from : 0);
+                ValidatorAlgorithmCallback resultCallback = failFast == null ? result::add : failFast::add;
+
+                for (int i = from; i < to; i++) {
+                    if (failFast != null && failFast.isCompleted()) {
+                        break;
+                    }
+
+                    ValidatorAlgorithmData data = new ValidatorAlgorithmData(validables[i], null, constraintSets[i], null, null);
+
+                    // the algorithm posts synchronously to the given callback
+                    new ValidatorAlgorithm(data, resultCallback).run();
+                }
+
+                return result;
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkValidation left = new ChunkValidation(validables, constraintSets, from, middle, chunkSize, failFast);
+            ChunkValidation right = new ChunkValidation(validables, constraintSets, middle, to, chunkSize, failFast);
+
+            left.fork();
+            PartialResult rightResult = right.compute();
+            PartialResult leftResult = left.join();
+
+            return leftResult.merge(rightResult);
+        }
+    }
+
+    /**
+     * The result of the validation of a chunk
+     */
+    private static final class PartialResult {
+
+        private final Map<Validable<?>, ValidatorResult> validatorResultByValidableMap;
+        private int notValidValidables = 0;
+
+        PartialResult(int expectedSize) {
+            validatorResultByValidableMap = new HashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
+        }
+
+        void add(ValidatorAlgorithmResult algorithmResult) {
+            if (algorithmResult.result.status != ValidableStatus.VALID) {
+                notValidValidables++;
+            }
+
+            validatorResultByValidableMap.put(algorithmResult.value, algorithmResult.result);
+        }
+
+        /**
+         * @param other     the result of another chunk
+         * @return          the merged result, the bigger map is reused
+         */
+        PartialResult merge(PartialResult other) {
+            PartialResult bigger = validatorResultByValidableMap.size() >= other.validatorResultByValidableMap.size() ? this : other;
+            PartialResult smaller = bigger == this ? other : this;
+
+            bigger.validatorResultByValidableMap.putAll(smaller.validatorResultByValidableMap);
+            bigger.notValidValidables += smaller.notValidValidables;
+            return bigger;
+        }
+    }
+
+    /**
+     * The state shared by the chunks of a fail-fast validation, the first chunk that finds
+     * a not valid {@link Validable} posts the result right away
+     */
+    private final class FailFast {
+
+        private final Callback callback;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        FailFast(Callback callback) {
+            this.callback = callback;
+        }
+
+        boolean isCompleted() {
+            return completed.get();
+        }
+
+        @WorkerThread
+        void add(ValidatorAlgorithmResult algorithmResult) {
+            if (algorithmResult.result.status != ValidableStatus.VALID && completed.compareAndSet(false, true)) {
+                post(Collections.<Validable<?>, ValidatorResult>singletonMap(algorithmResult.value, algorithmResult.result),
+                        ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID);
+            }
+        }
+
+        /**
+         * Called when all the chunks are done, if nothing has been posted yet all the
+         * {@link Validable} are valid
+         */
+        @WorkerThread
+        void allValidated() {
+            if (complete()) {
+                post(Collections.<Validable<?>, ValidatorResult>emptyMap(), ValidableCollectionStatus.ALL_VALID);
+            }
+        }
+
+        /**
+         * @return  true if nothing has been posted yet, the caller is then the only one
+         *          that posts
+         */
+        boolean complete() {
+            return completed.compareAndSet(false, true);
+        }
+
+        private void post(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+            if (callback != null) {
+                resultDispatcher.dispatch(() -> callback.status(validatorResultByValidableMap, status));
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.constraint;
+
+import android.support.annotation.AnyThread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Evaluation order of the constraints of a {@link SortedConstraintSet} that adapts to
+ * the values being validated.
+ *
+ * <p>The {@link SortedConstraintSet} evaluates constraints with the same evaluation
+ * priority in an arbitrary order. This class measures at runtime how long every
+ * constraint of such a group takes and how often it fails, then moves first inside the
+ * group the constraints that are cheap and fail often, so fewer constraints are
+ * evaluated on average. Constraints are never moved across different evaluation
+ * priorities.</p>
+ *
+ * <p>A constraint that can stop the validation, see {@link Constraint#canStopValidation()},
+ * decides whether the following constraints are evaluated at all, so moving one of them
+ * across it could change the validity of the value. It is a fixed barrier that splits its
+ * group: it keeps its position and nothing moves past it.</p>
+ *
+ * <p>Inside a group the constraints are sorted by the average cost divided by the
+ * failure rate, that is the expected cost paid to find a failure. Constraints never
+ * evaluated yet come first so they get measured too. The order is recomputed every
+ * {@link #REORDER_INTERVAL} validations and it is safe to use it from many threads.</p>
+ *
+ * <p>Since the order inside a group changes, when many constraints of the same group
+ * would fail the reported error may change from one validation to the other, exactly
+ * as it may change adding the constraints to the set in a different order. Whether the
+ * value is valid never changes.</p>
+ */
+public class AdaptiveConstraintOrder {
+
+    static final int REORDER_INTERVAL = 64;
+
+    private final Constraint<?, ?>[] constraints;
+
+    /**
+     * The index of the first constraint of the group of every constraint, a constraint
+     * that can stop the validation is always a group of its own
+     */
+    private final int[] groupStarts;
+
+    /**
+     * True if the constraint shares its evaluation priority with other ones
+     */
+    private final boolean[] profiled;
+    private final boolean adaptive;
+
+    private final AtomicLongArray evaluations;
+    private final AtomicLongArray failures;
+    private final AtomicLongArray nanos;
+    private final AtomicInteger validations = new AtomicInteger();
+
+    private volatile int[] order;
+
+    /**
+     * @param constraintSet     the set whose constraints are going to be ordered, it is not
+     *                          referenced by this instance
+     */
+    public AdaptiveConstraintOrder(SortedConstraintSet constraintSet) {
+        int size = constraintSet.size();
+        boolean hasGroups = false;
+
+        constraints = new Constraint<?, ?>[size];
+        groupStarts = new int[size];
+        profiled = new boolean[size];
+        order = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            constraints[i] = constraintSet.getConstraint(i);
+            order[i] = i;
+
+            if (i > 0 && constraints[i].getEvaluationPriority() == constraints[i - 1].getEvaluationPriority()
+                    && !constraints[i].canStopValidation() && !constraints[i - 1].canStopValidation()) {
+                groupStarts[i] = groupStarts[i - 1];
+                profiled[i] = true;
+                profiled[i - 1] = true;
+                hasGroups = true;
+            } else {
+                groupStarts[i] = i;
+            }
+        }
+
+        adaptive = hasGroups;
+        evaluations = new AtomicLongArray(size);
+        failures = new AtomicLongArray(size);
+        nanos = new AtomicLongArray(size);
+    }
+
+    /**
+     * @return  the number of constraints
+     */
+    public int size() {
+        return constraints.length;
+    }
+
+    /**
+     * @param index     the position of the constraint in the set
+     * @return          the constraint
+     */
+    public Constraint<?, ?> getConstraint(int index) {
+        return constraints[index];
+    }
+
+    /**
+     * The array must not be modified, a new one is published every time the order changes
+     *
+     * @return  the positions in the set of the constraints in the order they should be evaluated
+     */
+    @AnyThread
+    public int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * @param index     the position of the constraint in the set
+     * @return          true if the evaluations of the constraint should be recorded,
+     *                  constraints with a priority of their own and the ones that can
+     *                  stop the validation are never moved
+     */
+    public boolean isProfiled(int index) {
+        return profiled[index];
+    }
+
+    /**
+     * @param index     the position of the constraint in the set
+     * @param nanos     how long the evaluation took
+     * @param failed    true if the constraint was not satisfied
+     */
+    @AnyThread
+    public void recordEvaluation(int index, long nanos, boolean failed) {
+        evaluations.incrementAndGet(index);
+        this.nanos.addAndGet(index, nanos);
+
+        if (failed) {
+            failures.incrementAndGet(index);
+        }
+    }
+
+    /**
+     * Called once at the end of every validation, every {@link #REORDER_INTERVAL}
+     * validations the order is recomputed
+     */
+    @AnyThread
+    public void validationCompleted() {
+        if (adaptive && validations.incrementAndGet() % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+    }
+
+    private synchronized void reorder() {
+        int[] newOrder = order.clone();
+        double[] scores = new double[constraints.length];
+
+        for (int i = 0; i < constraints.length; i++) {
+            scores[i] = score(i);
+        }
+
+        int groupStart = 0;
+
+        while (groupStart < constraints.length) {
+            int groupEnd = groupStart + 1;
+
+            while (groupEnd < constraints.length && groupStarts[groupEnd] == groupStart) {
+                groupEnd++;
+            }
+
+            // insertion sort keeps the current order of constraints with the same score
+            for (int i = groupStart + 1; i < groupEnd; i++) {
+                int index = newOrder[i];
+                int j = i - 1;
+
+                while (j >= groupStart && scores[newOrder[j]] > scores[index]) {
+                    newOrder[j + 1] = newOrder[j];
+                    j--;
+                }
+
+                newOrder[j + 1] = index;
+            }
+
+            groupStart = groupEnd;
+        }
+
+        order = newOrder;
+    }
+
+    /**
+     * @param index     the position of the constraint in the set
+     * @return          the expected cost to find a failure, the lower the sooner the
+     *                  constraint is evaluated
+     */
+    private double score(int index) {
+        long evaluated = evaluations.get(index);
+
+        if (evaluated == 0) {
+            return 0;
+        }
+
+        double averageCost = (double) nanos.get(index) / evaluated;
+
+        // smoothed so that a constraint that never failed still ranks by its cost
+        double failureRate = (failures.get(index) + 1.0) / (evaluated + 2.0);
+
+        return averageCost / failureRate;
+    }
+
+    /**
+     * @return  the constraints in the order they are currently evaluated
+     */
+    public List<Constraint<?, ?>> getOrderedConstraints() {
+        int[] currentOrder = order;
+        List<Constraint<?, ?>> orderedConstraints = new ArrayList<>(currentOrder.length);
+
+        for (int index : currentOrder) {
+            orderedConstraints.add(constraints[index]);
+        }
+
+        return orderedConstraints;
+    }
+}
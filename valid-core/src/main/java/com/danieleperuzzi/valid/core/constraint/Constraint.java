@@ -17,6 +17,7 @@
 package com.danieleperuzzi.valid.core.constraint;
 
 import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableStatus;
 
 import java.util.Map;
 import java.util.Objects;
@@ -31,13 +32,26 @@ import java.util.Objects;
  * that the concrete implementation is able to process, otherwise it throws a
  * ClassCastException at runtime</p>
  *
+ * <p>Concrete implementations should declare the type they can process through a
+ * {@link Class} token, this way a type mismatch is detected once, when a
+ * {@link SortedConstraintSet} is bound to a {@link Validable}, see
+ * {@link SortedConstraintSet#bind(Validable)}, instead of on every evaluation.</p>
+ *
+ * <p>A Constraint is immutable: the Object that holds the constraint information and the
+ * errors must not change after construction, so the hash code is computed only once.</p>
+ *
  * @param <V>   the {@link Validable} type
  * @param <C>   the Object that holds information against which the value is going
  *              to be validated
  */
 public abstract class Constraint<V, C> {
 
-    private C constraint;
+    /**
+     * The type of the values this Constraint can process, null if not declared
+     */
+    private final Class<V> valueType;
+
+    private final C constraint;
 
     /**
      * Every Constraint declares its priority used by the SortedConstraintSet
@@ -47,16 +61,35 @@ public abstract class Constraint<V, C> {
      * <p>the lower number the higher priority is or, if you prefer, the lower
      * number the first to be checked</p>
      */
-    private int evaluationPriority;
+    private final int evaluationPriority;
 
-    private String error;
-    private Map<String, String> errorMap;
+    private final String error;
+    private final Map<String, String> errorMap;
+
+    /**
+     * The result of a failed evaluation never changes so it is built once
+     */
+    private final ConstraintResult notValidResult;
+
+    /**
+     * Constraints are compared every time they are added to a {@link SortedConstraintSet}
+     * so the hash code is computed once and used to speed up {@link #equals(Object)}
+     */
+    private final int hash;
+
+    /**
+     * @return  the type of the values this Constraint can process or null
+     *          if the concrete implementation does not declare it
+     */
+    public Class<V> getValueType() {
+        return valueType;
+    }
 
     protected C getConstraint() {
         return constraint;
     }
 
-    protected int getEvaluationPriority() {
+    public int getEvaluationPriority() {
         return evaluationPriority;
     }
 
@@ -68,6 +101,19 @@ public abstract class Constraint<V, C> {
         return errorMap;
     }
 
+    /**
+     * Concrete implementations should return this Object, or {@link ConstraintResult#VALID},
+     * instead of allocating a new {@link ConstraintResult} on every evaluation.
+     *
+     * <p>Constraints that use an error map should build their own results and,
+     * if possible, cache them too.</p>
+     *
+     * @return  the not valid result that carries {@link #getError()}
+     */
+    protected ConstraintResult getNotValidResult() {
+        return notValidResult;
+    }
+
     /**
      * @param constraint            the Object that holds information against
      *                              which the value is going to be validated
@@ -75,9 +121,7 @@ public abstract class Constraint<V, C> {
      * @param error                 the error thrown if evaluation fails
      */
     protected Constraint(C constraint, int evaluationPriority, String error) {
-        this(constraint, evaluationPriority);
-
-        this.error = error;
+        this(null, constraint, evaluationPriority, error, null);
     }
 
     /**
@@ -88,21 +132,71 @@ public abstract class Constraint<V, C> {
      *                              multiple errors
      */
     protected Constraint(C constraint, int evaluationPriority, Map<String, String> errorMap) {
-        this(constraint, evaluationPriority);
+        this(null, constraint, evaluationPriority, null, errorMap);
+    }
 
-        this.errorMap = errorMap;
+    /**
+     * @param valueType             the type of the values this Constraint can process
+     * @param constraint            the Object that holds information against
+     *                              which the value is going to be validated
+     * @param evaluationPriority    the priority of this Constraint
+     * @param error                 the error thrown if evaluation fails
+     */
+    protected Constraint(Class<V> valueType, C constraint, int evaluationPriority, String error) {
+        this(valueType, constraint, evaluationPriority, error, null);
+    }
+
+    /**
+     * @param valueType             the type of the values this Constraint can process
+     * @param constraint            the Object that holds information against
+     *                              which the value is going to be validated
+     * @param evaluationPriority    the priority of this Constraint
+     * @param errorMap              a map is used if this constraint can throw
+     *                              multiple errors
+     */
+    protected Constraint(Class<V> valueType, C constraint, int evaluationPriority, Map<String, String> errorMap) {
+        this(valueType, constraint, evaluationPriority, null, errorMap);
     }
 
-    private Constraint(C constraint, int evaluationPriority) {
+    private Constraint(Class<V> valueType, C constraint, int evaluationPriority, String error, Map<String, String> errorMap) {
+        this.valueType = valueType;
         this.constraint = constraint;
         this.evaluationPriority = evaluationPriority;
+        this.error = error;
+        this.errorMap = errorMap;
+
+        notValidResult = new ConstraintResult(ValidableStatus.NOT_VALID, error);
+        hash = Objects.hash(constraint, evaluationPriority, error, errorMap);
     }
 
-    private Constraint() {
+    /**
+     * A null value can be processed by every Constraint, otherwise it must be an
+     * instance of the declared value type. If the type is not declared we cannot
+     * tell so we assume it can.
+     *
+     * @param value     the concrete value held by a {@link Validable}
+     * @return          true if this Constraint can evaluate the value
+     */
+    public boolean canEvaluate(Object value) {
+        return value == null || valueType == null || valueType.isInstance(value);
     }
 
     /**
-     * Used to inspect the {@link Validable} type, if we cannot perform a cast
+     * Same as {@link #canEvaluate(Object)} but it throws a ClassCastException
+     * with a custom message
+     *
+     * @param value                 the concrete value held by a {@link Validable}
+     * @throws ClassCastException   if this Constraint cannot evaluate the value
+     */
+    public void checkValueType(Object value) throws ClassCastException {
+        if (!canEvaluate(value)) {
+            throw new ClassCastException("This Constraint cannot valid a " + value.getClass().getSimpleName() +
+                    " Object");
+        }
+    }
+
+    /**
+     * Used to inspect the {@link Validable} type, if it does not match the declared one
      * a ClassCastException is thrown with a custom message, otherwise the
      * concrete {@link Validable} type is returned
      *
@@ -112,14 +206,11 @@ public abstract class Constraint<V, C> {
      *                              can validate and the provided {@link Validable} Object type
      *                              does not match
      */
+    @SuppressWarnings("unchecked")
     private V tryToGetConcreteValidableValue(Validable<?> value) throws ClassCastException {
-        try {
-            return (V) value.getValue();
-
-        } catch (ClassCastException e) {
-            throw new ClassCastException("This Constraint cannot valid a " + value.getValue().getClass().getSimpleName() +
-                    " Object");
-        }
+        Object concreteValue = value.getValue();
+        checkValueType(concreteValue);
+        return (V) concreteValue;
     }
 
     /**
@@ -154,6 +245,23 @@ public abstract class Constraint<V, C> {
      */
     protected abstract ConstraintResult evaluate(V value);
 
+    /**
+     * Used by the Validator once the value type has been checked, see
+     * {@link SortedConstraintSet#bind(Validable)}, so it does not inspect
+     * the type again.
+     *
+     * <p>The Validator extracts the concrete value from the {@link Validable} only
+     * once and passes it to every Constraint of the set.</p>
+     *
+     * @param value     the concrete value held by the {@link Validable}
+     * @return          the result of the operation that is a status
+     *                  and an optional error message
+     */
+    @SuppressWarnings("unchecked")
+    public ConstraintResult evaluateValue(Object value) {
+        return evaluate((V) value);
+    }
+
     /**
      * This method is exposed to the Validator, his only scope is to extract the {@link Validable}
      * concrete value and pass it to the method that takes decisions about the validation
@@ -186,6 +294,30 @@ public abstract class Constraint<V, C> {
      */
     protected abstract boolean shouldStopValidation(V value);
 
+    /**
+     * Tells whether {@link #shouldStopValidation(Object)} may ever return true, a constraint
+     * that can stop the validation decides if the following ones are evaluated at all so
+     * it must never be reordered with them.
+     *
+     * <p>It is true by default, constraints that never stop the validation override it.</p>
+     *
+     * @return  false if {@link #shouldStopValidation(Object)} always returns false
+     */
+    public boolean canStopValidation() {
+        return true;
+    }
+
+    /**
+     * The counterpart of {@link #evaluateValue(Object)} for {@link #shouldStopValidation(Object)}
+     *
+     * @param value     the concrete value held by the {@link Validable}
+     * @return          tell the Validator if it should go on or stop
+     */
+    @SuppressWarnings("unchecked")
+    public boolean shouldStopValidationOnValue(Object value) {
+        return shouldStopValidation((V) value);
+    }
+
     /**
      * The equality between objects consider the fact that their respective
      * classes should be strictly the same to avoid the case in which one
@@ -214,13 +346,14 @@ public abstract class Constraint<V, C> {
             return true;
         }
 
-        if (getClass() != obj.getClass()) {
+        if (obj == null || getClass() != obj.getClass()) {
             return false;
         }
 
         Constraint<?, ?> that = (Constraint<?, ?>) obj;
 
-        return getEvaluationPriority() == that.getEvaluationPriority() &&
+        return hash == that.hash &&
+                getEvaluationPriority() == that.getEvaluationPriority() &&
                 Objects.equals(getConstraint(), that.getConstraint()) &&
                 Objects.equals(getError(), that.getError()) &&
                 Objects.equals(getErrorMap(), that.getErrorMap());
@@ -228,7 +361,6 @@ public abstract class Constraint<V, C> {
 
     @Override
     public int hashCode() {
-
-        return Objects.hash(getConstraint(), getEvaluationPriority(), getError(), getErrorMap());
+        return hash;
     }
 }
@@ -22,19 +22,26 @@ import java.util.Comparator;
 
 /**
  * Simple comparator used by {@link SortedConstraintSet} to order the {@link Constraint}
+ *
+ * <p>Equal constraints always have the same priority so the, more expensive, equality
+ * check is done only when the priorities are the same.</p>
  */
 public class ConstraintComparator implements Comparator<Constraint<?, ?>> {
 
     @Override
     public int compare(@NonNull Constraint firstConstraint, @NonNull Constraint secondConstraint) {
-        if (firstConstraint.equals(secondConstraint)) {
-            return 0;
-        }
-
         if (firstConstraint.getEvaluationPriority() < secondConstraint.getEvaluationPriority()) {
             return -1;
-        } else {
+        }
+
+        if (firstConstraint.getEvaluationPriority() > secondConstraint.getEvaluationPriority()) {
             return 1;
         }
+
+        if (firstConstraint.equals(secondConstraint)) {
+            return 0;
+        }
+
+        return 1;
     }
 }
@@ -25,16 +25,19 @@ import com.danieleperuzzi.valid.core.ValidableStatus;
  *
  * <p>The error message is never provided when the validation succeeded, otherwise
  * is not mandatory to attach a message after a failure, it also can be null</p>
+ *
+ * <p>Instances are immutable so they can be shared: every successful evaluation should
+ * return {@link #VALID} and every {@link Constraint} holds its own not valid result,
+ * see {@link Constraint#getNotValidResult()}, so evaluating a constraint does not allocate.</p>
  */
 public class ConstraintResult {
 
-    public ValidableStatus status;
+    public static final ConstraintResult VALID = new ConstraintResult(ValidableStatus.VALID, null);
 
-    @Nullable
-    public String constraintError;
+    public final ValidableStatus status;
 
-    private ConstraintResult() {
-    }
+    @Nullable
+    public final String constraintError;
 
     public ConstraintResult(ValidableStatus status, @Nullable String constraintError) {
         this.status = status;
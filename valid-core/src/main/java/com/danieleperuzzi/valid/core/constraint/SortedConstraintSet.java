@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.constraint;
+
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.Validator;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Every {@link Validable} Object must match all the provided {@link Constraint}
+ * in order to be declared valid.
+ *
+ * <p>This class simply exposes a set of priority ordered constraints
+ * that must be associated to a validable object.
+ * The order on which we evaluate all the constraints is specified
+ * in the constraint itself, we just order them so the {@link Validator}
+ * can process them one by one</p>
+ *
+ * <p>Once built the set is immutable: the constraints are ordered only once, by the
+ * {@link Builder}, and stored in an array so the {@link Validator} can walk them with
+ * a plain indexed loop, see {@link #size()} and {@link #getConstraint(int)}.</p>
+ */
+public class SortedConstraintSet {
+
+    private final Constraint<?, ?>[] constraints;
+    private final Set<Constraint<?, ?>> constraintSetView;
+    private final int hash;
+
+    /**
+     * The class of the last value checked by {@link #bind(Validable)}
+     */
+    private volatile Class<?> boundValueClass;
+
+    /**
+     * @return  the priority ordered {@link Constraint} set, it cannot be modified
+     */
+    public Set<Constraint<?, ?>> getConstraints() {
+        return constraintSetView;
+    }
+
+    /**
+     * @return  the number of {@link Constraint} in this set
+     */
+    public int size() {
+        return constraints.length;
+    }
+
+    /**
+     * @param index     the position of the {@link Constraint} in priority order
+     * @return          the {@link Constraint} at the given position
+     */
+    public Constraint<?, ?> getConstraint(int index) {
+        return constraints[index];
+    }
+
+    private SortedConstraintSet(Constraint<?, ?>[] constraints) {
+        this.constraints = constraints;
+
+        constraintSetView = new ConstraintSetView();
+        hash = Arrays.hashCode(constraints);
+    }
+
+    /**
+     * Checks once that every {@link Constraint} of this set can evaluate the value held
+     * by the {@link Validable}, so the Validator can evaluate them without inspecting
+     * the value type again.
+     *
+     * <p>The class of the last accepted value is remembered so binding the set again
+     * to values of the same type costs a single reference comparison.</p>
+     *
+     * @param validable             the {@link Validable} that is going to be validated
+     *                              against this set
+     * @throws ClassCastException   if any {@link Constraint} cannot evaluate the value
+     */
+    public void bind(Validable<?> validable) throws ClassCastException {
+        Object value = validable.getValue();
+
+        // every constraint can process a null value
+        if (value == null || value.getClass() == boundValueClass) {
+            return;
+        }
+
+        for (Constraint<?, ?> constraint : constraints) {
+            constraint.checkValueType(value);
+        }
+
+        boundValueClass = value.getClass();
+    }
+
+    /**
+     * Two sets are equal if they hold equal constraints in the same order
+     *
+     * @param o     the object to compare
+     * @return      true or false according to the logic
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SortedConstraintSet that = (SortedConstraintSet) o;
+        return hash == that.hash &&
+                Arrays.equals(constraints, that.constraints);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+     * Read only, ordered, view of the constraints array
+     */
+    private class ConstraintSetView extends AbstractSet<Constraint<?, ?>> {
+
+        @Override
+        public Iterator<Constraint<?, ?>> iterator() {
+            return new Iterator<Constraint<?, ?>>() {
+
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < constraints.length;
+                }
+
+                @Override
+                public Constraint<?, ?> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    return constraints[index++];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return constraints.length;
+        }
+    }
+
+
+    public static class Builder {
+
+        private final Set<Constraint<?, ?>> constraints;
+
+        public Builder() {
+            constraints = new TreeSet<>(new ConstraintComparator());
+        }
+
+        public Builder addConstraint(Constraint<?, ?> constraint) {
+            constraints.add(constraint);
+            return this;
+        }
+
+        /**
+         * @return  a new immutable set holding the constraints added so far
+         */
+        public SortedConstraintSet build() {
+            return new SortedConstraintSet(constraints.toArray(new Constraint<?, ?>[0]));
+        }
+    }
+}
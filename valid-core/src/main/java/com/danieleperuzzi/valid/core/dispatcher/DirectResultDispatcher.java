@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.dispatcher;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+
+/**
+ * Delivers every result on the thread that produced it, so a validation run by an
+ * Executor that runs tasks inline completes with no thread hop at all. It suits
+ * server threads that validate a payload and need the result right away.
+ *
+ * <p>It can not delay tasks so it does not support debounced validations.</p>
+ */
+public class DirectResultDispatcher implements ResultDispatcher {
+
+    @Override
+    public boolean isDispatchThread() {
+        return true;
+    }
+
+    @Override
+    public void dispatch(Runnable task) {
+        task.run();
+    }
+
+    @Override
+    public void dispatchDelayed(Runnable task, long delayMillis) {
+        throw new UnsupportedOperationException("DirectResultDispatcher can not delay tasks");
+    }
+
+    @Override
+    public boolean canDispatchDelayed() {
+        return false;
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        // nothing is ever waiting
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.dispatcher;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers every result on an Executor, for example the single thread that owns
+ * the state updated by the callbacks.
+ *
+ * <p>The Executor threads are not known so every result is handed to the Executor,
+ * even when it is produced on one of them. Tasks can be delayed only if the Executor
+ * is a {@link ScheduledExecutorService}.</p>
+ */
+public class ExecutorResultDispatcher implements ResultDispatcher {
+
+    private final Executor executor;
+
+    /**
+     * The delayed tasks that did not run yet, to cancel them
+     */
+    private final Map<Runnable, Future<?>> delayedTasks = new ConcurrentHashMap<>();
+
+    /**
+     * @param executor  the Executor that delivers the results
+     */
+    public ExecutorResultDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean isDispatchThread() {
+        return false;
+    }
+
+    @Override
+    public void dispatch(Runnable task) {
+        executor.execute(task);
+    }
+
+    @Override
+    public boolean canDispatchDelayed() {
+        return executor instanceof ScheduledExecutorService;
+    }
+
+    @Override
+    public void dispatchDelayed(Runnable task, long delayMillis) {
+        if (!canDispatchDelayed()) {
+            throw new UnsupportedOperationException("delaying tasks requires a ScheduledExecutorService");
+        }
+
+        Runnable delayedTask = () -> {
+            delayedTasks.remove(task);
+            task.run();
+        };
+
+        delayedTasks.put(task, ((ScheduledExecutorService) executor).schedule(delayedTask, delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public void cancel(Runnable task) {
+        Future<?> future = delayedTasks.remove(task);
+
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.dispatcher;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+
+/**
+ * Gives the {@link ResultDispatcher} used when none is provided.
+ *
+ * <p>The default is the first {@link ResultDispatcher} registered as a service in
+ * {@code META-INF/services}: the Android library registers the one of the main thread so
+ * results are delivered there. On a plain JVM, where none is registered, a
+ * {@link DirectResultDispatcher} delivers them on the thread that produced them.</p>
+ */
+public final class ResultDispatchers {
+
+    private static volatile ResultDispatcher platformDefault;
+
+    private ResultDispatchers() {
+    }
+
+    /**
+     * @return  the main thread dispatcher on Android, a {@link DirectResultDispatcher} otherwise
+     */
+    public static ResultDispatcher platformDefault() {
+        ResultDispatcher resultDispatcher = platformDefault;
+
+        if (resultDispatcher == null) {
+            resultDispatcher = findPlatformDefault();
+            platformDefault = resultDispatcher;
+        }
+
+        return resultDispatcher;
+    }
+
+    private static ResultDispatcher findPlatformDefault() {
+        Iterator<ResultDispatcher> registered = ServiceLoader.load(ResultDispatcher.class, ResultDispatchers.class.getClassLoader()).iterator();
+
+        if (registered.hasNext()) {
+            return registered.next();
+        }
+
+        return new DirectResultDispatcher();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import com.danieleperuzzi.valid.core.constraint.AdaptiveConstraintOrder;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.impl.AdaptiveValidatorAlgorithm;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Opt-in factory that validates against a {@link SortedConstraintSet} using an
+ * {@link AdaptiveValidatorAlgorithm}, so the constraints with the same evaluation
+ * priority are reordered at runtime as explained in {@link AdaptiveConstraintOrder}.
+ *
+ * <p>Every equal {@link SortedConstraintSet} validated through this factory shares the
+ * same {@link AdaptiveConstraintOrder}, it is released together with the set.</p>
+ *
+ * <p>Pass it to any validator, for example
+ * {@code new BaseValidator(executor, new AdaptiveValidatorAlgorithmFactory(), resultDispatcher)}</p>
+ */
+public class AdaptiveValidatorAlgorithmFactory extends ValidatorAlgorithmFactory {
+
+    private final Map<SortedConstraintSet, AdaptiveConstraintOrder> constraintOrders = new WeakHashMap<>();
+
+    @Override
+    BaseValidatorAlgorithm createValidatorAlgorithm(ValidatorAlgorithmData data, ValidatorAlgorithmCallback callback) {
+        if (data.constraint == null && data.constraintSet != null) {
+            return new AdaptiveValidatorAlgorithm(data, getConstraintOrder(data.constraintSet), callback);
+        }
+
+        return super.createValidatorAlgorithm(data, callback);
+    }
+
+    /**
+     * @param constraintSet     the validated set
+     * @return                  the order currently used to evaluate the constraints of the set
+     */
+    public synchronized AdaptiveConstraintOrder getConstraintOrder(SortedConstraintSet constraintSet) {
+        AdaptiveConstraintOrder constraintOrder = constraintOrders.get(constraintSet);
+
+        if (constraintOrder == null) {
+            constraintOrder = new AdaptiveConstraintOrder(constraintSet);
+            constraintOrders.put(constraintSet, constraintOrder);
+        }
+
+        return constraintOrder;
+    }
+}
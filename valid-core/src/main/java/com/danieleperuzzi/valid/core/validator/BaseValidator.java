@@ -0,0 +1,471 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.Nullable;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidationHandle;
+import com.danieleperuzzi.valid.core.Validator;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * This is the base Class implementing {@link Validator} interface
+ * providing the main structure of the validation algorithm.
+ *
+ * <p>it is possible to instantiate it directly just passing an executor
+ * implementation or just use the provided subclasses:</p>
+ *
+ * <ul>
+ *     <li>{@link com.danieleperuzzi.valid.core.validator.impl.DirectValidator}</li>
+ *     <li>{@code MainThreadValidator}, {@code SingleThreadValidator} and
+ *     {@code PoolThreadValidator}, in the Android library</li>
+ * </ul>
+ *
+ * <p>It also notifies an optional {@link ValidatorObserver} about
+ * the result of the validation of a particular {@link Validable}</p>
+ *
+ * <p>Validations can be started on any thread, the results are delivered through a
+ * {@link ResultDispatcher}: on Android it is usually the main thread, on a server
+ * a {@link com.danieleperuzzi.valid.core.dispatcher.DirectResultDispatcher} delivers
+ * them on the thread that ran the validation.</p>
+ *
+ * <p>By default every validation requested is run and its result posted, when values
+ * change faster than they are validated it is possible to keep only the latest
+ * validation of every {@link Validable}, see {@link #enableCoalescing(long)}</p>
+ */
+public class BaseValidator implements Validator {
+
+    private Executor executor;
+    private ValidatorAlgorithmFactory factory;
+    private ResultDispatcher resultDispatcher;
+
+    private final ValidatorMetrics metrics = new ValidatorMetrics();
+
+    private volatile boolean coalescing = false;
+    private volatile long debounceDelayMillis = 0;
+
+    /**
+     * True once coalescing has been enabled, from then on validations may be waiting even
+     * after it is disabled. Until then results are posted without taking any lock.
+     */
+    private volatile boolean coalescingUsed = false;
+
+    /**
+     * The validations waiting to run, at most one per {@link Validable}, used only when
+     * coalescing is enabled. It is shared with the worker threads so it is guarded by itself.
+     */
+    private final Map<Validable<?>, CoalescedValidation> pendingValidations = new IdentityHashMap<>();
+
+    /**
+     * @param executor              the Executor used to run the validation algorithm
+     * @param factory               the factory that provides validator algorithms
+     * @param resultDispatcher      the {@link ResultDispatcher} that delivers the results
+     */
+    public BaseValidator(Executor executor, ValidatorAlgorithmFactory factory, ResultDispatcher resultDispatcher) {
+        this.executor = executor;
+        this.factory = factory;
+        this.resultDispatcher = resultDispatcher;
+    }
+
+    /**
+     * @return  the counters of the constraints evaluated and skipped by this validator
+     */
+    public ValidatorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Keeps only the latest validation of every {@link Validable}.
+     *
+     * <p>A validation that has not started yet is replaced by a newer validation of the same
+     * {@link Validable}, so at most one validation per {@link Validable} waits to run and
+     * the work done depends on how often the value stops changing rather than on how often
+     * it changes. The result of a validation is not posted if a newer validation of the
+     * same {@link Validable} is already waiting, only the latest result is posted.</p>
+     *
+     * <p>With a debounce delay a validation starts only once its {@link Validable} has not
+     * been validated again for that long, the delay is measured by the {@link ResultDispatcher}
+     * that must support {@link ResultDispatcher#dispatchDelayed(Runnable, long)}.</p>
+     *
+     * @param debounceDelayMillis   how long to wait before starting a validation, 0 to start
+     *                              it right away
+     * @throws UnsupportedOperationException    if a debounce delay is given but the
+     *                                          {@link ResultDispatcher} can not delay tasks
+     */
+    @AnyThread
+    public void enableCoalescing(long debounceDelayMillis) {
+        if (debounceDelayMillis < 0) {
+            throw new IllegalArgumentException("debounceDelayMillis must not be negative");
+        }
+
+        if (debounceDelayMillis > 0 && !resultDispatcher.canDispatchDelayed()) {
+            throw new UnsupportedOperationException("debouncing requires a ResultDispatcher that can delay tasks");
+        }
+
+        this.coalescingUsed = true;
+        this.coalescing = true;
+        this.debounceDelayMillis = debounceDelayMillis;
+    }
+
+    /**
+     * Goes back to run every validation requested, the validations already waiting still
+     * run coalesced.
+     */
+    @AnyThread
+    public void disableCoalescing() {
+        this.coalescing = false;
+        this.debounceDelayMillis = 0;
+    }
+
+    /**
+     * This method simply invokes the one below with the {@link ValidatorObserver}
+     * at null in case is not provided.
+     *
+     * @param value      the {@link Validable} Object that is going to be validated
+     * @param constraint the {@link Constraint} used to check the validable
+     * @param callback   {@link Callback} used to post the validation result
+     * @return           the {@link ValidationHandle} to cancel the validation
+     */
+    @AnyThread
+    public ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, Callback callback) {
+        return startValidation(value, constraint, null, null, callback);
+    }
+
+    /**
+     * Convenience method used when the {@link Validable} is checked against only one
+     * constraint as opposed to {@link #validate(Validable, SortedConstraintSet, ValidatorObserver, Callback)}
+     *
+     * @param value      the {@link Validable} Object that is going to be validated
+     * @param constraint the {@link Constraint} used to check the validable
+     * @param observer   the optional {@link ValidatorObserver}
+     * @param callback   {@link Callback} used to post the validation result
+     * @return           the {@link ValidationHandle} to cancel the validation
+     */
+    @AnyThread
+    public ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, @Nullable ValidatorObserver observer, Callback callback) {
+        return startValidation(value, constraint, null, observer, callback);
+    }
+
+    /**
+     * This method simply invokes the one below with the {@link ValidatorObserver}
+     * at null in case is not provided.
+     *
+     * @param value             the {@link Validable} Object that is going to be validated
+     * @param constraintSet     the {@link SortedConstraintSet} that the value should all match
+     *                          to be positive validated
+     * @param callback          {@link Callback} used to post the validation result
+     * @return                  the {@link ValidationHandle} to cancel the validation
+     */
+    @AnyThread
+    public ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, Callback callback) {
+        return startValidation(value, null, constraintSet, null, callback);
+    }
+
+    /**
+     * Invokes the validation.
+     *
+     * @param value             the {@link Validable} Object that is going to be validated
+     * @param constraintSet     the {@link SortedConstraintSet} that the value should all match
+     *                          to be positive validated
+     * @param observer          the optional {@link ValidatorObserver}
+     * @param callback          {@link Callback} used to post the validation result
+     * @return                  the {@link ValidationHandle} to cancel the validation
+     */
+    @AnyThread
+    public ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, @Nullable ValidatorObserver observer, Validator.Callback callback) {
+        return startValidation(value, null, constraintSet, observer, callback);
+    }
+
+    /**
+     * This method is the main entry point of the validation process, it can be invoked
+     * on any thread.
+     *
+     * <p>It also checks, before any work is scheduled, that the constraints can evaluate
+     * the {@link Validable} type otherwise it throws a {@link ClassCastException}.</p>
+     *
+     * <p>First it uses a {@link ValidatorAlgorithmFactory} to retrieve a new algorithm
+     * based on the input data.</p>
+     *
+     * <p>See:</p>
+     *
+     * <ul>
+     *     <li>{@link com.danieleperuzzi.valid.core.validator.impl.ValidatorAlgorithm}</li>
+     *     <li>{@link com.danieleperuzzi.valid.core.validator.impl.SimpleValidatorAlgorithm}</li>
+     * </ul>
+     *
+     * <p>It uses an executor to run the validation algorithm, when coalescing is enabled
+     * the algorithm may replace a validation of the same {@link Validable} that is still
+     * waiting to run.</p>
+     *
+     * @param value             the {@link Validable} Object that is going to be validated
+     * @param constraint        the {@link Constraint} that the value should match
+     * @param constraintSet     the {@link SortedConstraintSet} that the value should all match
+     *                          to be positive validated
+     * @param observer          the optional {@link ValidatorObserver}
+     * @param callback          {@link Callback} used to post the validation result
+     * @return                  the algorithm, that is also the {@link ValidationHandle} of the validation
+     */
+    @AnyThread
+    private BaseValidatorAlgorithm startValidation(Validable<?> value, Constraint<?, ?> constraint, SortedConstraintSet constraintSet, @Nullable ValidatorObserver observer, Validator.Callback callback) {
+        if (constraintSet != null) {
+            constraintSet.bind(value);
+        } else if (constraint != null) {
+            constraint.checkValueType(value.getValue());
+        }
+
+        ValidatorAlgorithmData data = new ValidatorAlgorithmData(value, constraint, constraintSet, observer, callback);
+        ResultPoster resultPoster = new ResultPoster();
+        BaseValidatorAlgorithm validatorAlgorithm = factory.createValidatorAlgorithm(data, resultPoster);
+        resultPoster.validatorAlgorithm = validatorAlgorithm;
+
+        if (validatorAlgorithm == null) {
+            throw new RuntimeException("unable to find any suitable validator algorithm");
+        }
+
+        if (coalescing) {
+            scheduleCoalesced(value, validatorAlgorithm);
+        } else {
+            executor.execute(validatorAlgorithm);
+        }
+
+        return validatorAlgorithm;
+    }
+
+    /**
+     * Replaces the validation of the same {@link Validable} that is waiting to run, if any,
+     * otherwise schedules a new one.
+     *
+     * @param value                 the {@link Validable} Object that is going to be validated
+     * @param validatorAlgorithm    the algorithm that validates it
+     */
+    @AnyThread
+    private void scheduleCoalesced(Validable<?> value, BaseValidatorAlgorithm validatorAlgorithm) {
+        CoalescedValidation validation;
+        long debounceDelayMillis = this.debounceDelayMillis;
+
+        synchronized (pendingValidations) {
+            validation = pendingValidations.get(value);
+
+            if (validation != null) {
+                // the replaced algorithm never runs, its handle reports it as cancelled
+                validation.validatorAlgorithm.cancel();
+                validation.validatorAlgorithm = validatorAlgorithm;
+                metrics.recordDiscarded();
+            } else {
+                validation = new CoalescedValidation(value, validatorAlgorithm);
+                pendingValidations.put(value, validation);
+            }
+
+            // once submitted the validation runs the latest algorithm as soon as possible
+            if (validation.submitted) {
+                return;
+            }
+        }
+
+        try {
+            if (debounceDelayMillis > 0) {
+                // restart the debounce window
+                resultDispatcher.cancel(validation.submitTask);
+                resultDispatcher.dispatchDelayed(validation.submitTask, debounceDelayMillis);
+            } else {
+                validation.submit();
+            }
+        } catch (RuntimeException e) {
+            // the validation will never run, it must not keep discarding the later results
+            synchronized (pendingValidations) {
+                if (pendingValidations.get(value) == validation) {
+                    pendingValidations.remove(value);
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * This method is invoked when any validator algorithm terminates its computation to post the result
+     *
+     * <p>It has simply logic to determine if the validation process has been run on the thread
+     * the {@link ResultDispatcher} delivers on or on another thread because the callback is
+     * always invoked through the dispatcher</p>
+     *
+     * <p>It also records the result in the {@link ValidatorMetrics}</p>
+     *
+     * <p>When a newer validation of the same {@link Validable} is waiting the result is
+     * stale so it is discarded, the waiting validations are only looked up if coalescing
+     * has ever been enabled.</p>
+     *
+     * <p>The validation may be cancelled while the result is on its way to the dispatcher
+     * thread, so it is checked again right before invoking the callback.</p>
+     *
+     * <p>A {@link Validator.AnyThreadCallback} is invoked right away on the current thread,
+     * only the optional {@link ValidatorObserver}, if any, is notified through the dispatcher.</p>
+     *
+     * @param result    the result of the computation done by any validator algorithm
+     * @param handle    the {@link ValidationHandle} of the validation
+     */
+    private void postResult(ValidatorAlgorithmResult result, ValidationHandle handle) {
+        if (coalescingUsed) {
+            synchronized (pendingValidations) {
+                if (pendingValidations.containsKey(result.value)) {
+                    metrics.recordDiscarded();
+                    return;
+                }
+            }
+        }
+
+        metrics.record(result);
+
+        boolean anyThreadCallback = result.callback instanceof Validator.AnyThreadCallback;
+
+        if (anyThreadCallback) {
+            result.callback.status(result.value, result.result);
+        }
+
+        if (resultDispatcher.isDispatchThread()) {
+            triggerListener(result, !anyThreadCallback);
+        } else if (!anyThreadCallback || result.observer != null) {
+            dispatch(result, handle, !anyThreadCallback);
+        }
+    }
+
+    /**
+     * If the validation process has been run on another thread than the dispatcher one
+     * we need to invoke the callback through the {@link ResultDispatcher} and this is what
+     * this method actually does.
+     *
+     * @param result          the result of the computation done by any validator algorithm
+     * @param handle          the {@link ValidationHandle} of the validation
+     * @param invokeCallback  false if the callback has already been invoked
+     */
+    @AnyThread
+    private void dispatch(ValidatorAlgorithmResult result, ValidationHandle handle, boolean invokeCallback) {
+        Runnable callbackRunnable = () -> {
+            if (!handle.isCancelled()) {
+                triggerListener(result, invokeCallback);
+            }
+        };
+
+        resultDispatcher.dispatch(callbackRunnable);
+    }
+
+    /**
+     * The method that eventually invokes the callback and post the result of the validation
+     *
+     * <p>If a {@link ValidatorObserver} is provided it notifies to it the validation result</p>
+     *
+     * @param result          the result of the computation done by any validator algorithm
+     * @param invokeCallback  false if the callback has already been invoked
+     */
+    private void triggerListener(ValidatorAlgorithmResult result, boolean invokeCallback) {
+        if (result != null) {
+            Validator.Callback callback = result.callback;
+            ValidatorObserver observer = result.observer;
+
+            if (callback != null && invokeCallback) {
+                callback.status(result.value, result.result);
+            }
+
+            if (observer != null) {
+                observer.notify(result.value, result.result);
+            }
+        }
+    }
+
+    /**
+     * The only validation of a {@link Validable} waiting to run when coalescing is enabled,
+     * its algorithm is replaced every time the {@link Validable} is validated again.
+     */
+    private final class CoalescedValidation implements Runnable {
+
+        private final Validable<?> value;
+        private final Runnable submitTask = this::submit;
+
+        /**
+         * Guarded by {@link #pendingValidations}
+         */
+        private BaseValidatorAlgorithm validatorAlgorithm;
+
+        /**
+         * Guarded by {@link #pendingValidations}
+         */
+        private boolean submitted = false;
+
+        CoalescedValidation(Validable<?> value, BaseValidatorAlgorithm validatorAlgorithm) {
+            this.value = value;
+            this.validatorAlgorithm = validatorAlgorithm;
+        }
+
+        @AnyThread
+        void submit() {
+            synchronized (pendingValidations) {
+                if (submitted) {
+                    return;
+                }
+
+                submitted = true;
+            }
+
+            executor.execute(this);
+        }
+
+        /**
+         * Once started the validation is no longer waiting, a new validation of the same
+         * {@link Validable} is scheduled on its own and makes the result of this one stale.
+         */
+        @AnyThread
+        @Override
+        public void run() {
+            BaseValidatorAlgorithm latestValidatorAlgorithm;
+
+            synchronized (pendingValidations) {
+                if (pendingValidations.get(value) == this) {
+                    pendingValidations.remove(value);
+                }
+
+                latestValidatorAlgorithm = validatorAlgorithm;
+            }
+
+            latestValidatorAlgorithm.run();
+        }
+    }
+
+    /**
+     * Posts the results of one validation, it knows the algorithm that runs the validation
+     * to check if it has been cancelled.
+     */
+    private final class ResultPoster implements ValidatorAlgorithmCallback {
+
+        /**
+         * Set before the algorithm is executed
+         */
+        private BaseValidatorAlgorithm validatorAlgorithm;
+
+        @Override
+        public void postValidatorAlgorithmResult(ValidatorAlgorithmResult result) {
+            postResult(result, validatorAlgorithm);
+        }
+    }
+}
@@ -18,13 +18,20 @@ package com.danieleperuzzi.valid.core.validator;
 
 import android.support.annotation.AnyThread;
 
+import com.danieleperuzzi.valid.core.ValidationHandle;
+
 /**
  * Simple skeleton class used to interact to the {@link BaseValidator}
+ *
+ * <p>It is also the {@link ValidationHandle} of the validation it runs, subclasses should
+ * check {@link #isCancelled()} between the evaluation of one constraint and the next one
+ * and give up without posting any result as soon as the validation is cancelled.</p>
  */
-public abstract class BaseValidatorAlgorithm implements Runnable {
+public abstract class BaseValidatorAlgorithm implements Runnable, ValidationHandle {
 
     protected ValidatorAlgorithmData data;
     private ValidatorAlgorithmCallback callback;
+    private volatile boolean cancelled = false;
 
     protected BaseValidatorAlgorithm(ValidatorAlgorithmData data, ValidatorAlgorithmCallback callback) {
         this.data = data;
@@ -37,12 +44,26 @@ public abstract class BaseValidatorAlgorithm implements Runnable {
     @AnyThread
     public abstract void run();
 
+    @AnyThread
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @AnyThread
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
     /**
+     * Nothing is posted if the validation has been cancelled
+     *
      * @param result    the result of the computation, see {@link ValidatorAlgorithmResult} for more
      *                  informations
      */
     protected void postResult(ValidatorAlgorithmResult result) {
-        if (callback != null) {
+        if (callback != null && !cancelled) {
             callback.postValidatorAlgorithmResult(result);
         }
     }
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.Nullable;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidationHandle;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.VersionedValidable;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.dispatcher.ResultDispatchers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A {@link Validator} that remembers the last result of every {@link Validable} so that
+ * validating again a value that has not changed does not run the constraints again.
+ *
+ * <p>Results are remembered per {@link Validable} instance and per {@link Constraint} or
+ * {@link SortedConstraintSet}. A remembered result is used only if the value has not
+ * changed: for a {@link VersionedValidable} its version must be the same, so the result
+ * is invalidated by {@link Validable#setValue(Object, String)}, for any other
+ * {@link Validable} the value must be equal to the one that has been validated.</p>
+ *
+ * <p>Validations can be started on any thread. When a remembered result is used it is
+ * delivered through a {@link ResultDispatcher}, as {@link BaseValidator} does: right away
+ * if we are already on the thread it delivers on, otherwise posted to it, and a
+ * {@link Validator.AnyThreadCallback} is always invoked right away. Otherwise the validation
+ * is delegated to the wrapped {@link Validator} that delivers the result on its own.</p>
+ *
+ * <p>The cache is bounded, when it is full the least recently used result is evicted.</p>
+ */
+public class MemoizingValidator implements Validator {
+
+    public static final int DEFAULT_MAX_SIZE = 128;
+
+    private static final ValidationHandle DELIVERED = new ValidationHandle() {
+        @Override
+        public void cancel() {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    private final Validator validator;
+    private final int maxSize;
+    private final ResultDispatcher resultDispatcher;
+    private final Map<Key, RememberedResult> resultByKeyMap;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * @param validator     the {@link Validator} that runs the validation when no result
+     *                      can be reused
+     */
+    public MemoizingValidator(Validator validator) {
+        this(validator, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Delivers the remembered results with {@link ResultDispatchers#platformDefault()},
+     * on the main thread on Android
+     *
+     * @param validator     the {@link Validator} that runs the validation when no result
+     *                      can be reused
+     * @param maxSize       the maximum number of results held by this validator
+     */
+    public MemoizingValidator(Validator validator, int maxSize) {
+        this(validator, maxSize, ResultDispatchers.platformDefault());
+    }
+
+    /**
+     * @param validator         the {@link Validator} that runs the validation when no result
+     *                          can be reused
+     * @param maxSize           the maximum number of results held by this validator
+     * @param resultDispatcher  the {@link ResultDispatcher} that delivers the remembered
+     *                          results, usually the same of the wrapped {@link Validator}
+     */
+    public MemoizingValidator(Validator validator, int maxSize, ResultDispatcher resultDispatcher) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+
+        this.validator = validator;
+        this.maxSize = maxSize;
+        this.resultDispatcher = resultDispatcher;
+
+        // access order gives us the LRU policy for free
+        resultByKeyMap = new LinkedHashMap<Key, RememberedResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, RememberedResult> eldest) {
+                if (size() > MemoizingValidator.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @AnyThread
+    @Override
+    public ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, Callback callback) {
+        return validate(value, constraint, null, callback);
+    }
+
+    @AnyThread
+    @Override
+    public ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, @Nullable ValidatorObserver observer, Callback callback) {
+        Key key = new Key(value, constraint);
+        Object snapshot = snapshotOf(value);
+
+        ValidatorResult rememberedResult = getRememberedResult(key, snapshot);
+
+        if (rememberedResult != null) {
+            return deliverRememberedResult(key.value, rememberedResult, observer, callback);
+        }
+
+        return validator.validate(value, constraint, observer, rememberingCallback(key, snapshot, callback));
+    }
+
+    @AnyThread
+    @Override
+    public ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, Callback callback) {
+        return validate(value, constraintSet, null, callback);
+    }
+
+    @AnyThread
+    @Override
+    public ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, @Nullable ValidatorObserver observer, Callback callback) {
+        Key key = new Key(value, constraintSet);
+        Object snapshot = snapshotOf(value);
+
+        ValidatorResult rememberedResult = getRememberedResult(key, snapshot);
+
+        if (rememberedResult != null) {
+            return deliverRememberedResult(key.value, rememberedResult, observer, callback);
+        }
+
+        return validator.validate(value, constraintSet, observer, rememberingCallback(key, snapshot, callback));
+    }
+
+    /**
+     * Forgets every result of the given {@link Validable}
+     *
+     * @param value     the {@link Validable} whose results are no longer valid
+     */
+    public synchronized void invalidate(Validable<?> value) {
+        Iterator<Key> iterator = resultByKeyMap.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().value == value) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Forgets every result, statistics are kept
+     */
+    public synchronized void clear() {
+        resultByKeyMap.clear();
+    }
+
+    public synchronized int size() {
+        return resultByKeyMap.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Delivers a remembered result through the {@link ResultDispatcher}, right away if we are
+     * already on its thread, only the {@link Validator.AnyThreadCallback} is invoked right away
+     * on any thread
+     *
+     * @param value         the {@link Validable} whose result is remembered
+     * @param result        the remembered result
+     * @param observer      the optional {@link ValidatorObserver}
+     * @param callback      {@link Callback} used to post the validation result
+     * @return              the {@link ValidationHandle} that cancels the delivery still on its way
+     */
+    @AnyThread
+    private ValidationHandle deliverRememberedResult(Validable<?> value, ValidatorResult result, @Nullable ValidatorObserver observer, Callback callback) {
+        boolean anyThreadCallback = callback instanceof AnyThreadCallback;
+
+        if (anyThreadCallback) {
+            callback.status(value, result);
+        }
+
+        RememberedDelivery delivery = new RememberedDelivery(value, result, observer, anyThreadCallback ? null : callback);
+
+        if (resultDispatcher.isDispatchThread()) {
+            delivery.run();
+            return DELIVERED;
+        }
+
+        if (!anyThreadCallback || observer != null) {
+            resultDispatcher.dispatch(delivery);
+            return delivery;
+        }
+
+        return DELIVERED;
+    }
+
+    @Nullable
+    private synchronized ValidatorResult getRememberedResult(Key key, Object snapshot) {
+        RememberedResult entry = resultByKeyMap.get(key);
+
+        if (entry != null && Objects.equals(entry.snapshot, snapshot)) {
+            hitCount++;
+            return entry.result;
+        }
+
+        missCount++;
+        return null;
+    }
+
+    private Callback rememberingCallback(Key key, Object snapshot, Callback callback) {
+        Callback rememberingCallback = (value, result) -> {
+            // the value may have changed while it was being validated
+            if (Objects.equals(snapshotOf(value), snapshot)) {
+                remember(key, snapshot, result);
+            }
+
+            if (callback != null) {
+                callback.status(value, result);
+            }
+        };
+
+        // keep the wrapped callback off the dispatcher thread if it can be
+        if (callback instanceof AnyThreadCallback) {
+            return (AnyThreadCallback) rememberingCallback::status;
+        }
+
+        return rememberingCallback;
+    }
+
+    private synchronized void remember(Key key, Object snapshot, ValidatorResult result) {
+        resultByKeyMap.put(key, new RememberedResult(snapshot, result));
+    }
+
+    /**
+     * @return  what tells if the value of the {@link Validable} has changed
+     */
+    private static Object snapshotOf(Validable<?> value) {
+        if (value instanceof VersionedValidable) {
+            return ((VersionedValidable<?>) value).getVersion();
+        }
+
+        return value.getValue();
+    }
+
+    /**
+     * The {@link Validable} is compared by identity, the constraints by equality
+     */
+    private static final class Key {
+
+        private final Validable<?> value;
+        private final Object constraints;
+        private final int hash;
+
+        Key(Validable<?> value, Object constraints) {
+            this.value = value;
+            this.constraints = constraints;
+            this.hash = 31 * System.identityHashCode(value) + constraints.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return value == that.value && constraints.equals(that.constraints);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Invokes the callback and notifies the observer about a remembered result, unless the
+     * delivery has been cancelled while it was on its way to the dispatcher thread
+     */
+    private static final class RememberedDelivery implements Runnable, ValidationHandle {
+
+        private final Validable<?> value;
+        private final ValidatorResult result;
+        @Nullable private final ValidatorObserver observer;
+        @Nullable private final Callback callback;
+
+        private volatile boolean cancelled = false;
+
+        RememberedDelivery(Validable<?> value, ValidatorResult result, @Nullable ValidatorObserver observer, @Nullable Callback callback) {
+            this.value = value;
+            this.result = result;
+            this.observer = observer;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+
+            if (callback != null) {
+                callback.status(value, result);
+            }
+
+            if (observer != null) {
+                observer.notify(value, result);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final class RememberedResult {
+
+        @Nullable
+        private final Object snapshot;
+        private final ValidatorResult result;
+
+        RememberedResult(@Nullable Object snapshot, ValidatorResult result) {
+            this.snapshot = snapshot;
+            this.result = result;
+        }
+    }
+}
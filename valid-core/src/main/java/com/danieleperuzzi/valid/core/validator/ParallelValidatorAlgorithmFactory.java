@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import com.danieleperuzzi.valid.core.validator.impl.ParallelValidatorAlgorithm;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Opt-in factory that validates against a {@link com.danieleperuzzi.valid.core.constraint.SortedConstraintSet}
+ * using a {@link ParallelValidatorAlgorithm}, so the constraints of a set are evaluated
+ * at the same time.
+ *
+ * <p>Pass it to any validator, for example
+ * {@code new BaseValidator(executor, new ParallelValidatorAlgorithmFactory(), resultDispatcher)}</p>
+ */
+public class ParallelValidatorAlgorithmFactory extends ValidatorAlgorithmFactory {
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Uses a pool with as many threads as the available processors
+     */
+    public ParallelValidatorAlgorithmFactory() {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param pool  the pool that evaluates the constraints
+     */
+    public ParallelValidatorAlgorithmFactory(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    BaseValidatorAlgorithm createValidatorAlgorithm(ValidatorAlgorithmData data, ValidatorAlgorithmCallback callback) {
+        if (data.constraint == null && data.constraintSet != null) {
+            return new ParallelValidatorAlgorithm(data, pool, callback);
+        }
+
+        return super.createValidatorAlgorithm(data, callback);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import com.danieleperuzzi.valid.core.Validable;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Assigns a dense int id, from 0 to {@link #size()} - 1, to every registered {@link Validable}
+ * so the data about them can be held in arrays indexed by id instead of maps keyed by
+ * {@link Validable}, see {@link ValidatorResultTable}.
+ *
+ * <p>{@link Validable} are compared by identity, as they would be in a HashMap since they
+ * do not override equals and hashCode, and the lookup is the only place where a map is used.</p>
+ *
+ * <p>The registered {@link Validable} are fixed at construction so instances can be shared
+ * among threads without synchronization.</p>
+ */
+public class ValidableRegistry {
+
+    public static final int NOT_REGISTERED = -1;
+
+    private final Map<Validable<?>, Integer> idByValidableMap;
+    private final Validable<?>[] validables;
+
+    /**
+     * @param validables    the {@link Validable} to register, the ids follow the iteration
+     *                      order and duplicates are registered once
+     */
+    public ValidableRegistry(Collection<? extends Validable<?>> validables) {
+        idByValidableMap = new IdentityHashMap<>(validables.size());
+        Validable<?>[] registered = new Validable<?>[validables.size()];
+
+        for (Validable<?> validable : validables) {
+            if (!idByValidableMap.containsKey(validable)) {
+                registered[idByValidableMap.size()] = validable;
+                idByValidableMap.put(validable, idByValidableMap.size());
+            }
+        }
+
+        if (idByValidableMap.size() < registered.length) {
+            Validable<?>[] trimmed = new Validable<?>[idByValidableMap.size()];
+            System.arraycopy(registered, 0, trimmed, 0, trimmed.length);
+            registered = trimmed;
+        }
+
+        this.validables = registered;
+    }
+
+    /**
+     * @param validable     the {@link Validable} to look up
+     * @return              its id or {@link #NOT_REGISTERED}
+     */
+    public int getId(Validable<?> validable) {
+        Integer id = idByValidableMap.get(validable);
+        return id != null ? id : NOT_REGISTERED;
+    }
+
+    /**
+     * @param id    an id given by this registry
+     * @return      the {@link Validable} registered with that id
+     */
+    public Validable<?> getValidable(int id) {
+        return validables[id];
+    }
+
+    public boolean contains(Validable<?> validable) {
+        return idByValidableMap.containsKey(validable);
+    }
+
+    /**
+     * @return  the number of registered {@link Validable}
+     */
+    public int size() {
+        return validables.length;
+    }
+}
@@ -34,21 +34,46 @@ import com.danieleperuzzi.valid.core.Validator;
  */
 public class ValidatorAlgorithmResult {
 
-    public Validable<?> value;
-    public ValidatorResult result;
-    @Nullable public ValidatorObserver observer;
-    public Validator.Callback callback;
+    public final Validable<?> value;
+    public final ValidatorResult result;
+    @Nullable public final ValidatorObserver observer;
+    public final Validator.Callback callback;
 
     /**
+     * How many constraints have been evaluated and how many have been skipped
+     * because the validation stopped earlier, see {@link ValidatorMetrics}
+     */
+    public final int evaluatedConstraints;
+    public final int skippedConstraints;
+
+    /**
+     * Used by algorithms that evaluate exactly one constraint
+     *
      * @param value     the {@link Validable} Object that has been validated
      * @param result    the {@link ValidatorResult} of the validation
      * @param observer  the optional {@link ValidatorObserver}
      * @param callback  {@link Validator.Callback} used to post the validation result
      */
     public ValidatorAlgorithmResult(Validable<?> value, ValidatorResult result, @Nullable ValidatorObserver observer, Validator.Callback callback) {
+        this(value, result, observer, callback, 1, 0);
+    }
+
+    /**
+     * @param value                     the {@link Validable} Object that has been validated
+     * @param result                    the {@link ValidatorResult} of the validation
+     * @param observer                  the optional {@link ValidatorObserver}
+     * @param callback                  {@link Validator.Callback} used to post the validation result
+     * @param evaluatedConstraints      the number of constraints evaluated
+     * @param skippedConstraints        the number of constraints not evaluated because
+     *                                  the validation stopped earlier
+     */
+    public ValidatorAlgorithmResult(Validable<?> value, ValidatorResult result, @Nullable ValidatorObserver observer, Validator.Callback callback,
+                                    int evaluatedConstraints, int skippedConstraints) {
         this.value = value;
         this.result = result;
         this.observer = observer;
         this.callback = callback;
+        this.evaluatedConstraints = evaluatedConstraints;
+        this.skippedConstraints = skippedConstraints;
     }
 }
\ No newline at end of file
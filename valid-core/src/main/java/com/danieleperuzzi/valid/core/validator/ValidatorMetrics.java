@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects, across all the validations done by a {@link BaseValidator}, how many
+ * constraints have been evaluated and how many have been skipped because a
+ * validation stopped at the first not valid {@link com.danieleperuzzi.valid.core.constraint.Constraint}
+ * or at one that asked to stop.
+ *
+ * <p>It also counts the validations discarded, without posting any result, because a newer
+ * validation of the same {@link com.danieleperuzzi.valid.core.Validable} superseded them,
+ * see {@link BaseValidator#enableCoalescing(long)}.</p>
+ *
+ * <p>Counters are updated by the thread that runs the validation so they are atomic.</p>
+ */
+public class ValidatorMetrics {
+
+    private final AtomicLong validations = new AtomicLong();
+    private final AtomicLong evaluatedConstraints = new AtomicLong();
+    private final AtomicLong skippedConstraints = new AtomicLong();
+    private final AtomicLong discardedValidations = new AtomicLong();
+
+    /**
+     * @param result    the result of a validation
+     */
+    void record(ValidatorAlgorithmResult result) {
+        validations.incrementAndGet();
+        evaluatedConstraints.addAndGet(result.evaluatedConstraints);
+        skippedConstraints.addAndGet(result.skippedConstraints);
+    }
+
+    void recordDiscarded() {
+        discardedValidations.incrementAndGet();
+    }
+
+    /**
+     * @return  the number of validations completed
+     */
+    public long getValidationCount() {
+        return validations.get();
+    }
+
+    /**
+     * @return  the number of constraints evaluated
+     */
+    public long getEvaluatedConstraintCount() {
+        return evaluatedConstraints.get();
+    }
+
+    /**
+     * @return  the number of constraints that have not been evaluated because
+     *          the validation stopped earlier
+     */
+    public long getSkippedConstraintCount() {
+        return skippedConstraints.get();
+    }
+
+    /**
+     * @return  the number of validations discarded because superseded by a newer one
+     */
+    public long getDiscardedValidationCount() {
+        return discardedValidations.get();
+    }
+
+    public void reset() {
+        validations.set(0);
+        evaluatedConstraints.set(0);
+        skippedConstraints.set(0);
+        discardedValidations.set(0);
+    }
+}
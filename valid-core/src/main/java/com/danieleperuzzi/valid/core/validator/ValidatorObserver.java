@@ -0,0 +1,452 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import android.support.annotation.MainThread;
+import android.support.annotation.Nullable;
+
+import com.danieleperuzzi.valid.core.collectionvalidator.BulkValidator;
+import com.danieleperuzzi.valid.core.collectionvalidator.BulkValidatorProcessorFactory;
+import com.danieleperuzzi.valid.core.collectionvalidator.ForkJoinBulkValidator;
+import com.danieleperuzzi.valid.core.CollectionValidator;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.dispatcher.DirectResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.validator.impl.DirectValidator;
+import com.danieleperuzzi.valid.util.PersistentHashMap;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class receives updates about the result of a validation of
+ * a particular {@link Validable}, checks if it should be tracked
+ * and update the global status.
+ *
+ * <p>Results may be delivered from many threads at the same time so the results are
+ * held in a {@link ValidatorResultTable}, indexed by the ids that a {@link ValidableRegistry}
+ * gives to the observed {@link Validable}, that also tracks which of them are not valid in a
+ * bit set, and the global status is always derived from that bit set, so it never lags
+ * behind the results. No lock is held while the callback is invoked.</p>
+ *
+ * <p>Callbacks receive the results as a {@link PersistentHashMap} snapshot: every change
+ * produces a new one that shares almost all of its nodes with the previous, so it can be
+ * retained, handed to another thread or compared by reference without copying it.</p>
+ *
+ * <p>Checking that all the observed {@link Validable} are valid is O(1), see {@link #isAllValid()},
+ * and {@link #getNotValidValidables()} only walks the not valid ones, so they can be polled
+ * often.</p>
+ *
+ * <p>The initial status of the observed collection can be computed in the background,
+ * see {@link #ValidatorObserver(Map, CollectionValidator.Callback, CollectionValidator.Callback)},
+ * until it is known the global status is {@link ValidableCollectionStatus#PENDING}.</p>
+ */
+public class ValidatorObserver {
+
+    private static ForkJoinBulkValidator initialStatusValidator;
+
+    private final ValidableRegistry registry;
+    private final ValidatorResultTable validatorResultTable;
+    private CollectionValidator.Callback callback;
+
+    private final AtomicReference<PersistentHashMap<Validable<?>, ValidatorResult>> snapshot = new AtomicReference<>(PersistentHashMap.<Validable<?>, ValidatorResult>empty());
+
+    /**
+     * False until the initial status is known, guarded by {@link #initialStatusLock}
+     * while it is false
+     */
+    private volatile boolean ready;
+    private final Object initialStatusLock = new Object();
+
+    /**
+     * In order to observe the global status of a {@link Validable} collection every time
+     * one of them is being validated we must know the initial {@link ValidableStatus} of
+     * each one.
+     *
+     * <p>This is mandatory because is possible that, in a set of three validables, we
+     * only check the first and never the other two.</p>
+     *
+     * <p>To achieve this the {@link Helper} Class is used, it performs a bulk validation
+     * on the entire collection and give us back the initial result.</p>
+     *
+     * @param constraintSetByValidableMap   the map used to track the set of {@link Validable}
+     *                                      to observe and to initialize the {@link Helper} Object
+     * @param callback                      {@link CollectionValidator.Callback} used to post
+     *                                      the result
+     */
+    @MainThread
+    public ValidatorObserver(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, CollectionValidator.Callback callback) {
+        Helper helper = new Helper(constraintSetByValidableMap);
+
+        this.registry = new ValidableRegistry(constraintSetByValidableMap.keySet());
+        this.validatorResultTable = new ValidatorResultTable(registry);
+        this.callback = callback;
+
+        for (Map.Entry<Validable<?>, ValidatorResult> entry : helper.getInitialStatus().entrySet()) {
+            validatorResultTable.set(registry.getId(entry.getKey()), entry.getValue());
+        }
+
+        init();
+        ready = true;
+    }
+
+    /**
+     * Same as {@link #ValidatorObserver(Map, CollectionValidator.Callback)} but the initial
+     * status is computed in the background, in parallel, by a shared {@link ForkJoinBulkValidator}
+     * so the main thread is not blocked.
+     *
+     * @param constraintSetByValidableMap   the map used to track the set of {@link Validable}
+     *                                      to observe
+     * @param callback                      {@link CollectionValidator.Callback} used to post
+     *                                      the result
+     * @param readyCallback                 optional {@link CollectionValidator.Callback} invoked
+     *                                      once the initial status is known, on the main
+     *                                      thread on Android
+     */
+    @MainThread
+    public ValidatorObserver(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, CollectionValidator.Callback callback,
+                             @Nullable CollectionValidator.Callback readyCallback) {
+        this(constraintSetByValidableMap, callback, getInitialStatusValidator(), readyCallback);
+    }
+
+    /**
+     * Computes the initial status with the given {@link CollectionValidator}, until its result
+     * is delivered the global status is {@link ValidableCollectionStatus#PENDING}.
+     *
+     * <p>The results of the validations notified in the meantime are kept and they take
+     * precedence over the initial ones because they are newer. While pending the callback
+     * is invoked with {@link ValidableCollectionStatus#PENDING} and the results known so far.</p>
+     *
+     * <p>If the initial status cannot be computed, the {@link CollectionValidator} reports it to
+     * a {@link CollectionValidator.FailureCallback}, the observer leaves the pending status
+     * anyway with the results known so far, the {@link Validable} without a result count as
+     * not valid, then the exception is thrown again so it is not lost.</p>
+     *
+     * @param constraintSetByValidableMap   the map used to track the set of {@link Validable}
+     *                                      to observe
+     * @param callback                      {@link CollectionValidator.Callback} used to post
+     *                                      the result
+     * @param initialStatusValidator        the {@link CollectionValidator} that computes the
+     *                                      initial status
+     * @param readyCallback                 optional {@link CollectionValidator.Callback} invoked
+     *                                      once the initial status is known
+     */
+    @MainThread
+    public ValidatorObserver(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, CollectionValidator.Callback callback,
+                             CollectionValidator initialStatusValidator, @Nullable CollectionValidator.Callback readyCallback) {
+        this.registry = new ValidableRegistry(constraintSetByValidableMap.keySet());
+        this.validatorResultTable = new ValidatorResultTable(registry);
+        this.callback = callback;
+
+        // the last thing to do, the result may be delivered right away
+        initialStatusValidator.validateCollection(new HashMap<>(constraintSetByValidableMap), new CollectionValidator.FailureCallback() {
+            @Override
+            public void status(Map<Validable<?>, ValidatorResult> initialResultByValidableMap, ValidableCollectionStatus initialStatus) {
+                onInitialStatus(initialResultByValidableMap, readyCallback);
+            }
+
+            @Override
+            public void failed(Throwable error) {
+                onInitialStatus(Collections.<Validable<?>, ValidatorResult>emptyMap(), readyCallback);
+                rethrow(error);
+            }
+        });
+    }
+
+    private static void rethrow(Throwable error) {
+        if (error instanceof RuntimeException) {
+            throw (RuntimeException) error;
+        }
+
+        if (error instanceof Error) {
+            throw (Error) error;
+        }
+
+        throw new IllegalStateException(error);
+    }
+
+    private static synchronized ForkJoinBulkValidator getInitialStatusValidator() {
+        if (initialStatusValidator == null) {
+            initialStatusValidator = new ForkJoinBulkValidator();
+        }
+
+        return initialStatusValidator;
+    }
+
+    /**
+     * Merges the initial results with the ones notified while pending, that are newer,
+     * then leaves the pending status.
+     *
+     * @param initialResultByValidableMap   the initial results
+     * @param readyCallback                 optional callback to invoke once ready
+     */
+    private void onInitialStatus(Map<Validable<?>, ValidatorResult> initialResultByValidableMap, @Nullable CollectionValidator.Callback readyCallback) {
+        ValidableCollectionStatus initialStatus;
+
+        synchronized (initialStatusLock) {
+            for (Map.Entry<Validable<?>, ValidatorResult> entry : initialResultByValidableMap.entrySet()) {
+                int id = registry.getId(entry.getKey());
+
+                if (id != ValidableRegistry.NOT_REGISTERED) {
+                    validatorResultTable.setIfAbsent(id, entry.getValue());
+                }
+            }
+
+            init();
+            initialStatus = computeStatus();
+            ready = true;
+        }
+
+        if (readyCallback != null) {
+            readyCallback.status(snapshot.get(), initialStatus);
+        }
+    }
+
+    /**
+     * Just used to set the initial results snapshot of the {@link Validable} collection
+     */
+    private void init() {
+        snapshot.set(PersistentHashMap.copyOf(validatorResultTable.asMap()));
+    }
+
+    /**
+     * @return  the global status of the observed {@link Validable} collection,
+     *          {@link ValidableCollectionStatus#PENDING} until the initial status is known
+     */
+    public ValidableCollectionStatus getStatus() {
+        if (!ready) {
+            return ValidableCollectionStatus.PENDING;
+        }
+
+        return computeStatus();
+    }
+
+    /**
+     * @return  an immutable snapshot of the results of the observed {@link Validable}
+     */
+    public Map<Validable<?>, ValidatorResult> getResults() {
+        return snapshot.get();
+    }
+
+    /**
+     * Moves the {@link #snapshot} to one that holds the result of the given {@link Validable}
+     * found in the {@link #validatorResultTable}, read again on every attempt so the last
+     * thread that publishes a {@link Validable} leaves its latest result.
+     *
+     * @param id        the id of the {@link Validable}
+     * @param value     the {@link Validable}
+     * @return          the published snapshot
+     */
+    private Map<Validable<?>, ValidatorResult> publish(int id, Validable<?> value) {
+        while (true) {
+            PersistentHashMap<Validable<?>, ValidatorResult> previousSnapshot = snapshot.get();
+            ValidatorResult result = validatorResultTable.get(id);
+            PersistentHashMap<Validable<?>, ValidatorResult> actualSnapshot = result != null ? previousSnapshot.plus(value, result) : previousSnapshot;
+
+            if (snapshot.compareAndSet(previousSnapshot, actualSnapshot)) {
+                return actualSnapshot;
+            }
+        }
+    }
+
+    /**
+     * @return  true if all the observed {@link Validable} are valid, it does not walk them
+     *          and it is false while some of them have no result yet
+     */
+    public boolean isAllValid() {
+        return validatorResultTable.isAllValid();
+    }
+
+    /**
+     * @return  the number of observed {@link Validable} that are not valid or have
+     *          no result yet
+     */
+    public int getNotValidCount() {
+        return validatorResultTable.getNotValidCount();
+    }
+
+    /**
+     * @return  the observed {@link Validable} that are not valid or have no result yet,
+     *          the valid ones are skipped without being visited
+     */
+    public List<Validable<?>> getNotValidValidables() {
+        List<Validable<?>> notValidValidables = new ArrayList<>();
+
+        for (int id = validatorResultTable.nextNotValid(0); id >= 0; id = validatorResultTable.nextNotValid(id + 1)) {
+            notValidValidables.add(registry.getValidable(id));
+        }
+
+        return notValidValidables;
+    }
+
+    /**
+     * Store the result in the {@link #validatorResultTable}, that also sets or clears
+     * the validity bit of the {@link Validable} under the same lock, so concurrent updates of
+     * the same {@link Validable} are applied one after the other
+     *
+     * @param id                the id of the {@link Validable} that has been validated
+     * @param currentResult     the result given by the {@link Validator}
+     * @return                  the previous result or null if there is none yet
+     */
+    @Nullable
+    private ValidatorResult update(int id, ValidatorResult currentResult) {
+        return validatorResultTable.set(id, currentResult);
+    }
+
+    /**
+     * The global status is not stored anywhere, it is read from the validity bits every time
+     * so a thread never publishes a status computed before the update of another thread.
+     *
+     * @return  the global status given by the validity bits
+     */
+    private ValidableCollectionStatus computeStatus() {
+        if (validatorResultTable.isAllValid()) {
+            return ValidableCollectionStatus.ALL_VALID;
+        }
+
+        return ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID;
+    }
+
+    /**
+     * Invoke the {@link #callback} with the global {@link Validable}
+     * collection status updated.
+     *
+     * <p>A {@link CollectionValidator.DeltaCallback} only receives the changed result
+     * and it is not invoked at all if the result did not change.</p>
+     *
+     * @param value         the {@link Validable} that has been validated
+     * @param result        the result of the validation
+     * @param changed       true if the result differs from the previous one
+     * @param results       the snapshot of all the results
+     * @param actualStatus  the global status of the {@link Validable} collection
+     */
+    private void triggerListener(Validable<?> value, ValidatorResult result, boolean changed,
+                                 Map<Validable<?>, ValidatorResult> results, ValidableCollectionStatus actualStatus) {
+        if (callback instanceof CollectionValidator.DeltaCallback) {
+            if (changed) {
+                ((CollectionValidator.DeltaCallback) callback).changed(Collections.<Validable<?>, ValidatorResult>singletonMap(value, result), actualStatus);
+            }
+        } else if (callback != null) {
+            callback.status(results, actualStatus);
+        }
+    }
+
+    /**
+     * Every time the {@link Validator} is instructed to post result of a validation
+     * to this Class it calls this method.
+     *
+     * <p>It does simple check to ensure that the {@link Validable} that has been
+     * validated is one of them that should be observed and if it does then
+     * stores the result, holding only the lock stripe of its slot for the time of
+     * the write, the global status is then read from the validity bits without
+     * locking</p>
+     *
+     * @param value     the {@link Validable} that has been validated
+     * @param result    the result of the validation
+     */
+    void notify(Validable<?> value, ValidatorResult result) {
+        int id = registry.getId(value);
+
+        if (id == ValidableRegistry.NOT_REGISTERED) {
+            return;
+        }
+
+        if (!ready && notifyPending(id, value, result)) {
+            return;
+        }
+
+        // a Validable may have no result yet only if the initial status could not be computed
+        ValidatorResult previousResult = update(id, result);
+        boolean changed = !result.equals(previousResult);
+        Map<Validable<?>, ValidatorResult> results = changed ? publish(id, value) : snapshot.get();
+
+        triggerListener(value, result, changed, results, computeStatus());
+    }
+
+    /**
+     * Keeps the result of an observed {@link Validable} until the initial status is known
+     *
+     * @param id        the id of the {@link Validable} that has been validated
+     * @param value     the {@link Validable} that has been validated
+     * @param result    the result of the validation
+     * @return          false if the initial status became known in the meantime, the result
+     *                  must be handled as usual
+     */
+    private boolean notifyPending(int id, Validable<?> value, ValidatorResult result) {
+        ValidatorResult previousResult;
+        Map<Validable<?>, ValidatorResult> results;
+
+        synchronized (initialStatusLock) {
+            if (ready) {
+                return false;
+            }
+
+            previousResult = validatorResultTable.set(id, result);
+            results = publish(id, value);
+        }
+
+        triggerListener(value, result, !result.equals(previousResult), results, ValidableCollectionStatus.PENDING);
+
+        return true;
+    }
+
+    /**
+     * Helper Class used to build {@link ValidatorObserver} with an initial
+     * status that reflects the real status of the observed {@link Validable}
+     * collection.
+     */
+    private static class Helper {
+
+        private CollectionValidator collectionValidator;
+
+        private Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap;
+        private Map<Validable<?>, ValidatorResult> validatorResultByValidableMap;
+
+        private Map<Validable<?>, ValidatorResult> getInitialStatus() {
+            return validatorResultByValidableMap;
+        }
+
+        /**
+         * During object creation we do bulk validation on the set of {@link Validable}
+         * on the calling thread ensuring that {@link #validatorResultByValidableMap}
+         * is assigned when done and any subsequent calls to {@link #getInitialStatus()}
+         * returns the map needed by the {@link ValidatorObserver}
+         *
+         * @param constraintSetByValidableMap   the data used by {@link CollectionValidator}
+         *                                      to operate
+         */
+        private Helper(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap) {
+            collectionValidator = new BulkValidator(new DirectValidator(), new BulkValidatorProcessorFactory(new DirectResultDispatcher()));
+            this.constraintSetByValidableMap = constraintSetByValidableMap;
+
+            init();
+        }
+
+        private void init() {
+            collectionValidator.validateCollection(constraintSetByValidableMap, (validatorResultByValidableMap, status) -> {
+                this.validatorResultByValidableMap = validatorResultByValidableMap;
+            });
+        }
+    }
+}
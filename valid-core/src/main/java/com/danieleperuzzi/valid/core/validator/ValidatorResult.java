@@ -31,15 +31,51 @@ import java.util.Objects;
  *
  * <p>The error message is never provided when the validation succeeded, otherwise
  * is not mandatory to attach a message after a failure, it also can be null</p>
+ *
+ * <p>Instances are immutable, every successful validation shares {@link #VALID}.</p>
  */
 public class ValidatorResult {
 
-    public ValidableStatus status;
+    public static final ValidatorResult VALID = new ValidatorResult(ConstraintResult.VALID);
+
+    public final ValidableStatus status;
 
     @Nullable
-    public String validatorError;
+    public final String validatorError;
+
+    /**
+     * Same as {@link #ValidatorResult(ConstraintResult)} but it does not allocate
+     * when the result is valid
+     *
+     * @param result    the {@link ConstraintResult} given by {@link Constraint#evaluate(Object)}
+     * @return          the adapted result
+     */
+    public static ValidatorResult from(ConstraintResult result) {
+        if (result.status == ValidableStatus.VALID) {
+            return VALID;
+        }
+
+        return new ValidatorResult(result);
+    }
+
+    /**
+     * Rebuilds a result from its parts, it does not allocate when the result is valid
+     *
+     * @param status            the {@link ValidableStatus}
+     * @param validatorError    the error message, ignored when the status is valid
+     * @return                  the result
+     */
+    public static ValidatorResult from(ValidableStatus status, @Nullable String validatorError) {
+        if (status == ValidableStatus.VALID) {
+            return VALID;
+        }
+
+        return new ValidatorResult(status, validatorError);
+    }
 
-    private ValidatorResult() {
+    private ValidatorResult(ValidableStatus status, @Nullable String validatorError) {
+        this.status = status;
+        this.validatorError = validatorError;
     }
 
     /**
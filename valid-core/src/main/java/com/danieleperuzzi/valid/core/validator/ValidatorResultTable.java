@@ -0,0 +1,337 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import android.support.annotation.Nullable;
+
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.util.AtomicBitSet;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Holds the {@link ValidatorResult} of the {@link Validable} registered in a
+ * {@link ValidableRegistry}: the statuses are stored in a byte array and the error
+ * messages in a String array, both indexed by id, so no entry nor boxed key is
+ * allocated per {@link Validable}.
+ *
+ * <p>A map view is available through {@link #asMap()} for the callbacks that expect one,
+ * it is backed by the table so it reflects the later changes.</p>
+ *
+ * <p>The validity of every slot is also tracked in an {@link AtomicBitSet}, a set bit
+ * for every slot that is not valid or has no result yet, so checking that all of them
+ * are valid is O(1) and walking only the not valid ones skips the others a word at
+ * a time.</p>
+ *
+ * <p>Every slot may be read and written from any thread, the status, the error and
+ * the validity bit of a slot are always updated together under one of a few lock
+ * stripes.</p>
+ */
+public class ValidatorResultTable {
+
+    private static final int LOCK_STRIPES = 16;
+
+    /**
+     * Slot without a result, otherwise the slot holds the {@link ValidableStatus}
+     * ordinal plus one
+     */
+    private static final byte NO_RESULT = 0;
+
+    private static final ValidableStatus[] STATUSES = ValidableStatus.values();
+
+    private final ValidableRegistry registry;
+    private final byte[] statuses;
+    private final String[] validatorErrors;
+    private final AtomicBitSet notValidSlots;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private Map<Validable<?>, ValidatorResult> mapView;
+
+    /**
+     * @param registry  the {@link ValidableRegistry} that gives the ids, every slot is
+     *                  initially empty
+     */
+    public ValidatorResultTable(ValidableRegistry registry) {
+        this.registry = registry;
+        this.statuses = new byte[registry.size()];
+        this.validatorErrors = new String[registry.size()];
+        this.notValidSlots = new AtomicBitSet(registry.size());
+
+        for (int id = 0; id < registry.size(); id++) {
+            notValidSlots.set(id);
+        }
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public ValidableRegistry getRegistry() {
+        return registry;
+    }
+
+    private Object lockFor(int id) {
+        return locks[id & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * @param id    the id of a registered {@link Validable}
+     * @return      its status or null if there is no result yet
+     */
+    @Nullable
+    public ValidableStatus getStatus(int id) {
+        synchronized (lockFor(id)) {
+            return toStatus(statuses[id]);
+        }
+    }
+
+    /**
+     * @param id    the id of a registered {@link Validable}
+     * @return      its result or null if there is no result yet
+     */
+    @Nullable
+    public ValidatorResult get(int id) {
+        byte status;
+        String validatorError;
+
+        synchronized (lockFor(id)) {
+            status = statuses[id];
+            validatorError = validatorErrors[id];
+        }
+
+        return toResult(status, validatorError);
+    }
+
+    /**
+     * @param id        the id of a registered {@link Validable}
+     * @param result    its new result
+     * @return          the previous result or null if there was no result
+     */
+    @Nullable
+    public ValidatorResult set(int id, ValidatorResult result) {
+        byte previousStatus;
+        String previousValidatorError;
+
+        synchronized (lockFor(id)) {
+            previousStatus = statuses[id];
+            previousValidatorError = validatorErrors[id];
+            store(id, result);
+        }
+
+        return toResult(previousStatus, previousValidatorError);
+    }
+
+    /**
+     * @param id        the id of a registered {@link Validable}
+     * @param result    its result
+     * @return          false if there already was a result, left untouched
+     */
+    public boolean setIfAbsent(int id, ValidatorResult result) {
+        synchronized (lockFor(id)) {
+            if (statuses[id] != NO_RESULT) {
+                return false;
+            }
+
+            store(id, result);
+            return true;
+        }
+    }
+
+    /**
+     * Replaces the result only if there already is one
+     *
+     * @param id        the id of a registered {@link Validable}
+     * @param result    its new result
+     * @return          the previous result or null if there was no result, left untouched
+     */
+    @Nullable
+    public ValidatorResult replace(int id, ValidatorResult result) {
+        byte previousStatus;
+        String previousValidatorError;
+
+        synchronized (lockFor(id)) {
+            previousStatus = statuses[id];
+            previousValidatorError = validatorErrors[id];
+
+            if (previousStatus != NO_RESULT) {
+                store(id, result);
+            }
+        }
+
+        return toResult(previousStatus, previousValidatorError);
+    }
+
+    /**
+     * Must be called holding the lock of the slot
+     */
+    private void store(int id, ValidatorResult result) {
+        statuses[id] = toByte(result.status);
+        validatorErrors[id] = result.validatorError;
+        notValidSlots.set(id, result.status != ValidableStatus.VALID);
+    }
+
+    /**
+     * @return  true if every slot holds a valid result, it does not walk the slots
+     */
+    public boolean isAllValid() {
+        return notValidSlots.isEmpty();
+    }
+
+    /**
+     * @return  the number of slots that are not valid or have no result yet
+     */
+    public int getNotValidCount() {
+        return notValidSlots.cardinality();
+    }
+
+    /**
+     * The not valid slots are walked with:
+     * <pre>
+     * for (int id = table.nextNotValid(0); id >= 0; id = table.nextNotValid(id + 1)) { ... }
+     * </pre>
+     *
+     * @param fromId    the id to start from, inclusive
+     * @return          the id of the first slot from fromId that is not valid or has no
+     *                  result yet, -1 if there is none
+     */
+    public int nextNotValid(int fromId) {
+        return notValidSlots.nextSetBit(fromId);
+    }
+
+    /**
+     * @return  a read only map view of the results, keyed by {@link Validable}, that
+     *          only contains the slots with a result
+     */
+    public Map<Validable<?>, ValidatorResult> asMap() {
+        if (mapView == null) {
+            mapView = new MapView();
+        }
+
+        return mapView;
+    }
+
+    private static byte toByte(ValidableStatus status) {
+        return (byte) (status.ordinal() + 1);
+    }
+
+    @Nullable
+    private static ValidatorResult toResult(byte status, @Nullable String validatorError) {
+        return status != NO_RESULT ? ValidatorResult.from(toStatus(status), validatorError) : null;
+    }
+
+    @Nullable
+    private static ValidableStatus toStatus(byte status) {
+        return status != NO_RESULT ? STATUSES[status - 1] : null;
+    }
+
+    private class MapView extends AbstractMap<Validable<?>, ValidatorResult> {
+
+        private final Set<Map.Entry<Validable<?>, ValidatorResult>> entrySet = new EntrySet();
+
+        @Override
+        public ValidatorResult get(Object key) {
+            if (!(key instanceof Validable)) {
+                return null;
+            }
+
+            int id = registry.getId((Validable<?>) key);
+            return id != ValidableRegistry.NOT_REGISTERED ? ValidatorResultTable.this.get(id) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public Set<Map.Entry<Validable<?>, ValidatorResult>> entrySet() {
+            return entrySet;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<Validable<?>, ValidatorResult>> {
+
+        @Override
+        public Iterator<Map.Entry<Validable<?>, ValidatorResult>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+
+            for (int id = 0; id < statuses.length; id++) {
+                if (getStatus(id) != null) {
+                    size++;
+                }
+            }
+
+            return size;
+        }
+    }
+
+    /**
+     * Walks the slots skipping the empty ones, the result of a slot is read
+     * when the iterator moves to it
+     */
+    private class EntryIterator implements Iterator<Map.Entry<Validable<?>, ValidatorResult>> {
+
+        private int nextId = 0;
+        private ValidatorResult nextResult;
+
+        private EntryIterator() {
+            advance();
+        }
+
+        private void advance() {
+            nextResult = null;
+
+            while (nextId < statuses.length && nextResult == null) {
+                nextResult = get(nextId);
+
+                if (nextResult == null) {
+                    nextId++;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextResult != null;
+        }
+
+        @Override
+        public Map.Entry<Validable<?>, ValidatorResult> next() {
+            if (nextResult == null) {
+                throw new NoSuchElementException();
+            }
+
+            Map.Entry<Validable<?>, ValidatorResult> entry = new AbstractMap.SimpleImmutableEntry<Validable<?>, ValidatorResult>(registry.getValidable(nextId), nextResult);
+
+            nextId++;
+            advance();
+
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator.impl;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.Nullable;
+
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.constraint.AdaptiveConstraintOrder;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.validator.BaseValidatorAlgorithm;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmCallback;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmData;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmResult;
+import com.danieleperuzzi.valid.core.validator.ValidatorObserver;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+
+/**
+ * The same algorithm of {@link ValidatorAlgorithm} that evaluates the constraints in the
+ * order given by an {@link AdaptiveConstraintOrder} and feeds it with the cost and the
+ * outcome of every evaluation.
+ */
+public class AdaptiveValidatorAlgorithm extends BaseValidatorAlgorithm {
+
+    private Validable<?> value;
+    private AdaptiveConstraintOrder constraintOrder;
+    @Nullable private ValidatorObserver observer;
+    private Validator.Callback callback;
+
+    /**
+     * @param data              the {@link ValidatorAlgorithmData} used to fed the validator algorithm
+     * @param constraintOrder   the order of the constraints of the {@link ValidatorAlgorithmData}
+     *                          constraint set
+     * @param callback          callback to post the validation result to the
+     *                          {@link com.danieleperuzzi.valid.core.validator.BaseValidator}
+     */
+    public AdaptiveValidatorAlgorithm(ValidatorAlgorithmData data, AdaptiveConstraintOrder constraintOrder, ValidatorAlgorithmCallback callback) {
+        super(data, callback);
+
+        this.value = data.value;
+        this.constraintOrder = constraintOrder;
+        this.observer = data.observer;
+        this.callback = data.callback;
+    }
+
+    /**
+     * See {@link ValidatorAlgorithm#run()}, only the constraints that share their evaluation
+     * priority with other ones are measured.
+     */
+    @AnyThread
+    public void run() {
+        ConstraintResult constraintResult = ConstraintResult.VALID;
+        int[] order = constraintOrder.getOrder();
+        int constraints = order.length;
+        int evaluatedConstraints = constraints;
+
+        Object concreteValue = value.getValue();
+
+        for (int i = 0; i < constraints; i++) {
+            if (isCancelled()) {
+                return;
+            }
+
+            int index = order[i];
+            Constraint<?, ?> constraint = constraintOrder.getConstraint(index);
+
+            if (constraintOrder.isProfiled(index)) {
+                long start = System.nanoTime();
+                constraintResult = constraint.evaluateValue(concreteValue);
+                constraintOrder.recordEvaluation(index, System.nanoTime() - start, constraintResult.status == ValidableStatus.NOT_VALID);
+            } else {
+                constraintResult = constraint.evaluateValue(concreteValue);
+            }
+
+            if (constraintResult.status == ValidableStatus.NOT_VALID || constraint.shouldStopValidationOnValue(concreteValue)) {
+                evaluatedConstraints = i + 1;
+                break;
+            }
+        }
+
+        constraintOrder.validationCompleted();
+        postResult(new ValidatorAlgorithmResult(value, ValidatorResult.from(constraintResult), observer, callback,
+                evaluatedConstraints, constraints - evaluatedConstraints));
+    }
+}
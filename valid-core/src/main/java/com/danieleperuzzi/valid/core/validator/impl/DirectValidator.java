@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator.impl;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.dispatcher.DirectResultDispatcher;
+import com.danieleperuzzi.valid.core.validator.BaseValidator;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmFactory;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Validates on the calling thread and delivers the result on the same thread before
+ * {@link #validate} returns, with no thread hop and no Looper, so it can be used from
+ * any thread including server threads.
+ */
+public class DirectValidator extends BaseValidator {
+
+    private static final ValidatorAlgorithmFactory factory = new ValidatorAlgorithmFactory();
+    private static final ResultDispatcher directDispatcher = new DirectResultDispatcher();
+
+    public DirectValidator() {
+        this(Runnable::run, factory, directDispatcher);
+    }
+
+    protected DirectValidator(Executor executor, ValidatorAlgorithmFactory factory, ResultDispatcher resultDispatcher) {
+        super(executor, factory, resultDispatcher);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator.impl;
+
+import android.support.annotation.AnyThread;
+import android.support.annotation.Nullable;
+
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.BaseValidatorAlgorithm;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmCallback;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmData;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmResult;
+import com.danieleperuzzi.valid.core.validator.ValidatorObserver;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Evaluates all the constraints of a {@link SortedConstraintSet} at the same time on a
+ * {@link ForkJoinPool}, it is meant for sets made of slow constraints that do not depend
+ * on each other.
+ *
+ * <p>The result is the same {@link ValidatorAlgorithm} would produce: the evaluations
+ * are collected in priority order and the first constraint that is not satisfied, or that
+ * asks to stop the validation, determines the result. As soon as an evaluation finds that
+ * its constraint is not satisfied, or asks to stop, it cancels the evaluations of the lower
+ * priority constraints, even if the higher priority ones are still running. The ones
+ * already running complete but their result is ignored.</p>
+ *
+ * <p>Since constraints may be evaluated even if a higher priority one is not satisfied
+ * they must be thread safe and free of side effects.</p>
+ */
+public class ParallelValidatorAlgorithm extends BaseValidatorAlgorithm {
+
+    private Validable<?> value;
+    private SortedConstraintSet constraintSet;
+    @Nullable private ValidatorObserver observer;
+    private Validator.Callback callback;
+    private ForkJoinPool pool;
+
+    /**
+     * @param data          the {@link ValidatorAlgorithmData} used to fed the validator algorithm
+     * @param pool          the pool that evaluates the constraints
+     * @param callback      callback to post the validation result to the
+     *                      {@link com.danieleperuzzi.valid.core.validator.BaseValidator}
+     */
+    public ParallelValidatorAlgorithm(ValidatorAlgorithmData data, ForkJoinPool pool, ValidatorAlgorithmCallback callback) {
+        super(data, callback);
+
+        this.value = data.value;
+        this.constraintSet = data.constraintSet;
+        this.observer = data.observer;
+        this.callback = data.callback;
+        this.pool = pool;
+    }
+
+    /**
+     * The highest priority constraint is evaluated on the current thread while the
+     * other ones are evaluated by the pool.
+     */
+    @AnyThread
+    public void run() {
+        ConstraintResult constraintResult = ConstraintResult.VALID;
+        int constraints = constraintSet.size();
+        Object concreteValue = value.getValue();
+
+        AtomicReferenceArray<ForkJoinTask<ConstraintResult>> evaluations = new AtomicReferenceArray<>(constraints);
+
+        // the lowest index of a constraint that terminated the validation
+        AtomicInteger firstTerminated = new AtomicInteger(constraints);
+
+        for (int i = 1; i < constraints; i++) {
+            int index = i;
+            Constraint<?, ?> constraint = constraintSet.getConstraint(i);
+
+            evaluations.set(i, pool.submit(() -> {
+                ConstraintResult result = constraint.evaluateValue(concreteValue);
+
+                if (result.status == ValidableStatus.NOT_VALID || constraint.shouldStopValidationOnValue(concreteValue)) {
+                    terminated(evaluations, firstTerminated, index);
+                }
+
+                return result;
+            }));
+        }
+
+        // an evaluation may have terminated before the lower priority ones were submitted
+        cancelEvaluations(evaluations, firstTerminated.get() + 1);
+
+        for (int i = 0; i < constraints; i++) {
+            if (isCancelled()) {
+                cancelEvaluations(evaluations, i);
+                return;
+            }
+
+            Constraint<?, ?> constraint = constraintSet.getConstraint(i);
+            constraintResult = i == 0 ? constraint.evaluateValue(concreteValue) : evaluations.get(i).join();
+
+            if (constraintResult.status == ValidableStatus.NOT_VALID || constraint.shouldStopValidationOnValue(concreteValue)) {
+                int evaluatedConstraints = i + 1;
+                cancelEvaluations(evaluations, evaluatedConstraints);
+                postResult(new ValidatorAlgorithmResult(value, ValidatorResult.from(constraintResult), observer, callback,
+                        evaluatedConstraints, constraints - evaluatedConstraints));
+                return;
+            }
+        }
+
+        postResult(new ValidatorAlgorithmResult(value, ValidatorResult.from(constraintResult), observer, callback, constraints, 0));
+    }
+
+    /**
+     * Called by the evaluation of a constraint that terminates the validation, it cancels the
+     * evaluations of the lower priority constraints unless a higher priority constraint
+     * already did
+     *
+     * @param evaluations       the evaluations of all the constraints
+     * @param firstTerminated   the lowest index of a constraint that terminated the validation
+     * @param index             the index of the constraint that terminated the validation
+     */
+    private static void terminated(AtomicReferenceArray<ForkJoinTask<ConstraintResult>> evaluations, AtomicInteger firstTerminated, int index) {
+        int first;
+
+        do {
+            first = firstTerminated.get();
+
+            if (index >= first) {
+                return;
+            }
+        } while (!firstTerminated.compareAndSet(first, index));
+
+        cancelEvaluations(evaluations, index + 1);
+    }
+
+    /**
+     * @param evaluations   the evaluations of all the constraints, the ones not submitted
+     *                      yet are skipped
+     * @param from          the index of the first evaluation to cancel
+     */
+    private static void cancelEvaluations(AtomicReferenceArray<ForkJoinTask<ConstraintResult>> evaluations, int from) {
+        for (int i = Math.max(from, 1); i < evaluations.length(); i++) {
+            ForkJoinTask<ConstraintResult> evaluation = evaluations.get(i);
+
+            if (evaluation != null) {
+                evaluation.cancel(false);
+            }
+        }
+    }
+}
@@ -60,7 +60,11 @@ public class SimpleValidatorAlgorithm extends BaseValidatorAlgorithm {
      */
     @AnyThread
     public void run() {
-        ConstraintResult constraintResult = constraint.evaluate(value);
-        postResult(new ValidatorAlgorithmResult(value, new ValidatorResult(constraintResult), observer, callback));
+        if (isCancelled()) {
+            return;
+        }
+
+        ConstraintResult constraintResult = constraint.evaluateValue(value.getValue());
+        postResult(new ValidatorAlgorithmResult(value, ValidatorResult.from(constraintResult), observer, callback));
     }
 }
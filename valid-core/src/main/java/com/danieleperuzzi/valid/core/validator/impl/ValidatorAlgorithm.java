@@ -33,8 +33,6 @@ import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmResult;
 import com.danieleperuzzi.valid.core.validator.ValidatorObserver;
 import com.danieleperuzzi.valid.core.validator.ValidatorResult;
 
-import java.util.Set;
-
 /**
  * Defines the main validator algorithm.
  */
@@ -71,21 +69,39 @@ public class ValidatorAlgorithm extends BaseValidatorAlgorithm {
      * <p>There is also a special case, when a {@link Validable} satisfies a {@link Constraint}
      * but it's not the last one. In this case every {@link Constraint} gives us the chance
      * to determine if it is enough to declare the entire {@link Validable} Object validated.</p>
+     *
+     * <p>In both cases the remaining constraints are skipped and the result is posted
+     * exactly once, together with the number of evaluated and skipped constraints.</p>
+     *
+     * <p>Before evaluating every {@link Constraint} we check if the validation has been
+     * cancelled, in that case nothing is posted.</p>
      */
     @AnyThread
     public void run() {
-        Set<Constraint<?, ?>> constraints = constraintSet.getConstraints();
-        ConstraintResult constraintResult = null;
+        // an empty set is trivially satisfied
+        ConstraintResult constraintResult = ConstraintResult.VALID;
+        int constraints = constraintSet.size();
+
+        // the value type has already been checked when the set has been bound to the validable
+        Object concreteValue = value.getValue();
+
+        for (int i = 0; i < constraints; i++) {
+            if (isCancelled()) {
+                return;
+            }
 
-        for (Constraint<?, ?> constraint : constraints) {
-            constraintResult = constraint.evaluate(value);
+            Constraint<?, ?> constraint = constraintSet.getConstraint(i);
+            constraintResult = constraint.evaluateValue(concreteValue);
 
-            if (constraintResult.status == ValidableStatus.NOT_VALID || (constraintResult.status == ValidableStatus.VALID && constraint.shouldStopValidation(value))) {
-                postResult(new ValidatorAlgorithmResult(value, new ValidatorResult(constraintResult), observer, callback));
+            if (constraintResult.status == ValidableStatus.NOT_VALID || constraint.shouldStopValidationOnValue(concreteValue)) {
+                int evaluatedConstraints = i + 1;
+                postResult(new ValidatorAlgorithmResult(value, ValidatorResult.from(constraintResult), observer, callback,
+                        evaluatedConstraints, constraints - evaluatedConstraints));
+                return;
             }
         }
 
         //if we reach this point we can say that all the constraints had evaluated to true
-        postResult(new ValidatorAlgorithmResult(value, new ValidatorResult(constraintResult), observer, callback));
+        postResult(new ValidatorAlgorithmResult(value, ValidatorResult.from(constraintResult), observer, callback, constraints, 0));
     }
 }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.text.regex.DfaRegex;
+import com.danieleperuzzi.valid.text.regex.UnsupportedRegexException;
+
+/**
+ * Same as {@link RegexTextConstraint} but the regex is compiled into a {@link DfaRegex}
+ * so the text is matched in linear time, no matter how the regex is written
+ * or how pathological the user input is.
+ *
+ * <p>Only a subset of the regex syntax is supported, the constructor throws an
+ * {@link UnsupportedRegexException} if the regex uses anything else, for
+ * example backreferences or lookarounds.</p>
+ */
+public class DfaRegexTextConstraint extends Constraint<String, String> {
+
+    private final DfaRegex dfaRegex;
+
+    /**
+     * @param regex                         the regex the text must match
+     * @param evaluationPriority            the priority of this Constraint
+     * @param error                         the error thrown if evaluation fails
+     * @throws UnsupportedRegexException    if the regex cannot be compiled into a DFA
+     */
+    public DfaRegexTextConstraint(String regex, int evaluationPriority, String error) throws UnsupportedRegexException {
+        super(String.class, regex, evaluationPriority, error);
+
+        dfaRegex = regex != null ? DfaRegex.compile(regex) : null;
+    }
+
+    @Override
+    public boolean canStopValidation() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldStopValidation(String text) {
+        return false;
+    }
+
+    @Override
+    protected ConstraintResult evaluate(String text) {
+        if (!satisfyRegex(text)) {
+            return getNotValidResult();
+        }
+
+        return ConstraintResult.VALID;
+    }
+
+    private boolean satisfyRegex(String text) {
+        if (text == null) {
+            return false;
+        }
+
+        if (dfaRegex == null) {
+            return true;
+        }
+
+        return dfaRegex.matches(text);
+    }
+}
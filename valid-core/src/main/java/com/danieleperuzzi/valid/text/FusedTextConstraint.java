@@ -0,0 +1,244 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.text.regex.UnsupportedRegexException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates a run of {@link MandatoryTextConstraint}, {@link MinLengthTextConstraint},
+ * {@link MaxLengthTextConstraint} and {@link RegexTextConstraint} in a single step.
+ *
+ * <p>The text is checked for null and emptiness only once and its length is read only
+ * once, then every constraint is reduced to a plain comparison against those values.
+ * Consecutive regex constraints are evaluated together by a {@link MultiRegexTextConstraint}
+ * when their regexes can be compiled into a single DFA.</p>
+ *
+ * <p>The constraints are evaluated in the given order and the result is the one the
+ * first failing constraint would have reported on its own. A not mandatory
+ * {@link MandatoryTextConstraint} that meets an empty text stops the validation
+ * exactly as it would do on its own.</p>
+ *
+ * <p>This constraint takes the priority of the first constraint of the run, it is meant
+ * to replace a run of consecutive constraints of a
+ * {@link com.danieleperuzzi.valid.core.constraint.SortedConstraintSet}, see
+ * {@link TextConstraintSetCompiler}.</p>
+ */
+public class FusedTextConstraint extends Constraint<String, List<Constraint<String, ?>>> {
+
+    private static final int MANDATORY = 0;
+    private static final int MIN_LENGTH = 1;
+    private static final int MAX_LENGTH = 2;
+    private static final int REGEX = 3;
+
+    /**
+     * What every step checks, one of {@link #MANDATORY}, {@link #MIN_LENGTH},
+     * {@link #MAX_LENGTH} or {@link #REGEX}
+     */
+    private final int[] stepKinds;
+
+    /**
+     * The mandatory flag, as 0 or 1, or the length every step compares the text against
+     */
+    private final int[] stepValues;
+
+    /**
+     * The constraint that evaluates a {@link #REGEX} step
+     */
+    private final Constraint<?, ?>[] stepRegexes;
+
+    private final ConstraintResult[] stepNotValidResults;
+
+    /**
+     * True if a not mandatory {@link MandatoryTextConstraint} is part of the run
+     */
+    private final boolean stopOnEmptyText;
+
+    /**
+     * @param textConstraints   the priority ordered constraints to evaluate, only the ones
+     *                          listed in the class description are supported
+     */
+    public FusedTextConstraint(List<? extends Constraint<String, ?>> textConstraints) {
+        super(String.class, Collections.unmodifiableList(new ArrayList<Constraint<String, ?>>(textConstraints)), firstEvaluationPriority(textConstraints), (String) null);
+
+        int size = textConstraints.size();
+        int[] kinds = new int[size];
+        int[] values = new int[size];
+        Constraint<?, ?>[] regexes = new Constraint<?, ?>[size];
+        ConstraintResult[] notValidResults = new ConstraintResult[size];
+        List<RegexTextConstraint> regexRun = new ArrayList<>();
+        boolean stopOnEmpty = false;
+        int steps = 0;
+
+        for (int i = 0; i < size; i++) {
+            Constraint<String, ?> constraint = textConstraints.get(i);
+
+            // subclasses may behave differently so only the exact classes are supported
+            if (constraint.getClass() == RegexTextConstraint.class) {
+                regexRun.add((RegexTextConstraint) constraint);
+
+                if (i + 1 < size && textConstraints.get(i + 1).getClass() == RegexTextConstraint.class) {
+                    continue;
+                }
+
+                kinds[steps] = REGEX;
+                regexes[steps] = regexStep(regexRun);
+                regexRun.clear();
+            } else if (constraint.getClass() == MandatoryTextConstraint.class) {
+                boolean mandatory = ((MandatoryTextConstraint) constraint).getTextConstraint();
+                kinds[steps] = MANDATORY;
+                values[steps] = mandatory ? 1 : 0;
+                notValidResults[steps] = ((MandatoryTextConstraint) constraint).getNotValidTextResult();
+                stopOnEmpty |= !mandatory;
+            } else if (constraint.getClass() == MinLengthTextConstraint.class) {
+                kinds[steps] = MIN_LENGTH;
+                values[steps] = ((MinLengthTextConstraint) constraint).getTextConstraint();
+                notValidResults[steps] = ((MinLengthTextConstraint) constraint).getNotValidTextResult();
+            } else if (constraint.getClass() == MaxLengthTextConstraint.class) {
+                kinds[steps] = MAX_LENGTH;
+                values[steps] = ((MaxLengthTextConstraint) constraint).getTextConstraint();
+                notValidResults[steps] = ((MaxLengthTextConstraint) constraint).getNotValidTextResult();
+            } else {
+                throw new IllegalArgumentException("FusedTextConstraint cannot evaluate a " + constraint.getClass().getSimpleName());
+            }
+
+            steps++;
+        }
+
+        stepKinds = trim(kinds, steps);
+        stepValues = trim(values, steps);
+        stepRegexes = new Constraint<?, ?>[steps];
+        stepNotValidResults = new ConstraintResult[steps];
+        System.arraycopy(regexes, 0, stepRegexes, 0, steps);
+        System.arraycopy(notValidResults, 0, stepNotValidResults, 0, steps);
+        stopOnEmptyText = stopOnEmpty;
+    }
+
+    private static int firstEvaluationPriority(List<? extends Constraint<String, ?>> textConstraints) {
+        if (textConstraints.isEmpty()) {
+            throw new IllegalArgumentException("At least one text constraint is needed");
+        }
+
+        return textConstraints.get(0).getEvaluationPriority();
+    }
+
+    private static Constraint<?, ?> regexStep(List<RegexTextConstraint> regexRun) {
+        if (regexRun.size() > 1) {
+            try {
+                return new MultiRegexTextConstraint(regexRun);
+            } catch (UnsupportedRegexException e) {
+                // evaluated one by one below
+            }
+        }
+
+        return regexRun.size() == 1 ? regexRun.get(0) : new RegexSequence(regexRun);
+    }
+
+    private static int[] trim(int[] array, int length) {
+        int[] trimmed = new int[length];
+        System.arraycopy(array, 0, trimmed, 0, length);
+        return trimmed;
+    }
+
+    @Override
+    public boolean canStopValidation() {
+        return stopOnEmptyText;
+    }
+
+    @Override
+    protected boolean shouldStopValidation(String text) {
+        // evaluate() already returned VALID, so if the text is empty it has been stopped
+        // by the not mandatory constraint before any other step could fail
+        return stopOnEmptyText && (text == null || text.isEmpty());
+    }
+
+    @Override
+    protected ConstraintResult evaluate(String text) {
+        boolean isNull = text == null;
+        boolean isEmpty = isNull || text.isEmpty();
+        int length = isNull ? 0 : text.length();
+
+        for (int i = 0; i < stepKinds.length; i++) {
+            switch (stepKinds[i]) {
+                case MANDATORY:
+                    if (isEmpty) {
+                        // a not mandatory empty text stops the validation here
+                        return stepValues[i] == 1 ? stepNotValidResults[i] : ConstraintResult.VALID;
+                    }
+                    break;
+                case MIN_LENGTH:
+                    if (isNull ? stepValues[i] > 0 : length < stepValues[i]) {
+                        return stepNotValidResults[i];
+                    }
+                    break;
+                case MAX_LENGTH:
+                    if (!isNull && stepValues[i] != -1 && length > stepValues[i]) {
+                        return stepNotValidResults[i];
+                    }
+                    break;
+                default:
+                    ConstraintResult result = stepRegexes[i].evaluateValue(text);
+
+                    if (result.status == ValidableStatus.NOT_VALID) {
+                        return result;
+                    }
+                    break;
+            }
+        }
+
+        return ConstraintResult.VALID;
+    }
+
+    /**
+     * Evaluates one by one the regex constraints that cannot be compiled together
+     */
+    private static final class RegexSequence extends Constraint<String, List<RegexTextConstraint>> {
+
+        RegexSequence(List<RegexTextConstraint> regexConstraints) {
+            super(String.class, Collections.unmodifiableList(new ArrayList<>(regexConstraints)), regexConstraints.get(0).getEvaluationPriority(), (String) null);
+        }
+
+        @Override
+        public boolean canStopValidation() {
+            return false;
+        }
+
+        @Override
+        protected boolean shouldStopValidation(String text) {
+            return false;
+        }
+
+        @Override
+        protected ConstraintResult evaluate(String text) {
+            for (RegexTextConstraint regexConstraint : getConstraint()) {
+                ConstraintResult result = regexConstraint.evaluateValue(text);
+
+                if (result.status == ValidableStatus.NOT_VALID) {
+                    return result;
+                }
+            }
+
+            return ConstraintResult.VALID;
+        }
+    }
+}
@@ -16,16 +16,19 @@
 
 package com.danieleperuzzi.valid.text;
 
-import com.danieleperuzzi.valid.core.constraint.Constraint;
 import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
-import com.danieleperuzzi.valid.core.ValidableStatus;
 
-public class MandatoryTextConstraint extends Constraint<String, Boolean> {
+public class MandatoryTextConstraint extends TextConstraint<Boolean> {
 
     public MandatoryTextConstraint(Boolean mandatory, int evaluationPriority, String error) {
         super(mandatory, evaluationPriority, error);
     }
 
+    @Override
+    public boolean canStopValidation() {
+        return !getConstraint();
+    }
+
     @Override
     protected boolean shouldStopValidation(String text) {
         return !getConstraint() && (text == null || text.isEmpty());
@@ -33,17 +36,10 @@ public class MandatoryTextConstraint extends Constraint<String, Boolean> {
 
     @Override
     protected ConstraintResult evaluate(String text) {
-        ValidableStatus status;
-        String error;
-
         if ((text == null || text.isEmpty()) && getConstraint()) {
-            status = ValidableStatus.NOT_VALID;
-            error = getError();
-        } else {
-            status = ValidableStatus.VALID;
-            error = null;
+            return getNotValidResult();
         }
 
-        return new ConstraintResult(status, error);
+        return ConstraintResult.VALID;
     }
 }
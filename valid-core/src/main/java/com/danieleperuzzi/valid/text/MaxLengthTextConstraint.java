@@ -16,16 +16,19 @@
 
 package com.danieleperuzzi.valid.text;
 
-import com.danieleperuzzi.valid.core.constraint.Constraint;
 import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
-import com.danieleperuzzi.valid.core.ValidableStatus;
 
-public class MaxLengthTextConstraint extends Constraint<String, Integer> {
+public class MaxLengthTextConstraint extends TextConstraint<Integer> {
 
     public MaxLengthTextConstraint(Integer maxLength, int evaluationPriority, String error) {
         super(maxLength, evaluationPriority, error);
     }
 
+    @Override
+    public boolean canStopValidation() {
+        return false;
+    }
+
     @Override
     protected boolean shouldStopValidation(String text) {
         return false;
@@ -33,23 +36,14 @@ public class MaxLengthTextConstraint extends Constraint<String, Integer> {
 
     @Override
     protected ConstraintResult evaluate(String text) {
-        ValidableStatus status;
-        String error;
-
         if (text == null) {
-            status = ValidableStatus.VALID;
-            error = null;
-            return new ConstraintResult(status, error);
+            return ConstraintResult.VALID;
         }
 
         if ((text.length() > getConstraint()) && (getConstraint() != -1)) {
-            status = ValidableStatus.NOT_VALID;
-            error = getError();
-        } else {
-            status = ValidableStatus.VALID;
-            error = null;
+            return getNotValidResult();
         }
 
-        return new ConstraintResult(status, error);
+        return ConstraintResult.VALID;
     }
 }
@@ -16,16 +16,19 @@
 
 package com.danieleperuzzi.valid.text;
 
-import com.danieleperuzzi.valid.core.constraint.Constraint;
 import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
-import com.danieleperuzzi.valid.core.ValidableStatus;
 
-public class MinLengthTextConstraint extends Constraint<String, Integer> {
+public class MinLengthTextConstraint extends TextConstraint<Integer> {
 
     public MinLengthTextConstraint(Integer minLength, int evaluationPriority, String error) {
         super(minLength, evaluationPriority, error);
     }
 
+    @Override
+    public boolean canStopValidation() {
+        return false;
+    }
+
     @Override
     protected boolean shouldStopValidation(String text) {
         return false;
@@ -33,29 +36,18 @@ public class MinLengthTextConstraint extends Constraint<String, Integer> {
 
     @Override
     protected ConstraintResult evaluate(String text) {
-        ValidableStatus status;
-        String error;
-
         if (text == null && getConstraint() == 0) {
-            status = ValidableStatus.VALID;
-            error = null;
-            return new ConstraintResult(status, error);
+            return ConstraintResult.VALID;
         }
 
         if (text == null && getConstraint() > 0) {
-            status = ValidableStatus.NOT_VALID;
-            error = getError();
-            return new ConstraintResult(status, error);
+            return getNotValidResult();
         }
 
         if (text.length() < getConstraint()) {
-            status = ValidableStatus.NOT_VALID;
-            error = getError();
-        } else {
-            status = ValidableStatus.VALID;
-            error = null;
+            return getNotValidResult();
         }
 
-        return new ConstraintResult(status, error);
+        return ConstraintResult.VALID;
     }
 }
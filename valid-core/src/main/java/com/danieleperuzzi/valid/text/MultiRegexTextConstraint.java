@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.text.regex.MultiDfaRegex;
+import com.danieleperuzzi.valid.text.regex.UnsupportedRegexException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates many {@link RegexTextConstraint} at once scanning the text only once.
+ *
+ * <p>All the regexes are compiled into a single {@link MultiDfaRegex} that tells us which
+ * of them the text does not match. The result is the same we would get evaluating the
+ * {@link RegexTextConstraint} one by one in the given order: the error reported is the one
+ * of the first regex that is not matched.</p>
+ *
+ * <p>This constraint takes the priority of the first {@link RegexTextConstraint}, it
+ * is meant to replace a run of consecutive regex constraints of a
+ * {@link com.danieleperuzzi.valid.core.constraint.SortedConstraintSet}, see
+ * {@link TextConstraintSetCompiler}.</p>
+ */
+public class MultiRegexTextConstraint extends Constraint<String, List<RegexTextConstraint>> {
+
+    private final MultiDfaRegex multiDfaRegex;
+
+    /**
+     * Index of the {@link RegexTextConstraint} that owns every regex compiled
+     * in {@link #multiDfaRegex}
+     */
+    private final int[] constraintIndexByPattern;
+
+    /**
+     * @param regexConstraints              the priority ordered regex constraints to evaluate
+     * @throws UnsupportedRegexException    if any regex cannot be compiled into a DFA
+     */
+    public MultiRegexTextConstraint(List<RegexTextConstraint> regexConstraints) throws UnsupportedRegexException {
+        super(String.class, Collections.unmodifiableList(new ArrayList<>(regexConstraints)), firstEvaluationPriority(regexConstraints), (String) null);
+
+        List<String> regexes = new ArrayList<>();
+        int[] constraintIndexes = new int[regexConstraints.size()];
+
+        for (int i = 0; i < regexConstraints.size(); i++) {
+            String regex = regexConstraints.get(i).getTextConstraint();
+
+            // a null regex is always satisfied by a not null text, nothing to compile
+            if (regex != null) {
+                constraintIndexes[regexes.size()] = i;
+                regexes.add(regex);
+            }
+        }
+
+        multiDfaRegex = regexes.isEmpty() ? null : MultiDfaRegex.compile(regexes);
+        constraintIndexByPattern = constraintIndexes;
+    }
+
+    private static int firstEvaluationPriority(List<RegexTextConstraint> regexConstraints) {
+        if (regexConstraints.isEmpty()) {
+            throw new IllegalArgumentException("At least one regex constraint is needed");
+        }
+
+        return regexConstraints.get(0).getEvaluationPriority();
+    }
+
+    @Override
+    public boolean canStopValidation() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldStopValidation(String text) {
+        return false;
+    }
+
+    @Override
+    protected ConstraintResult evaluate(String text) {
+        List<RegexTextConstraint> regexConstraints = getConstraint();
+
+        if (text == null) {
+            return regexConstraints.get(0).getNotValidTextResult();
+        }
+
+        if (multiDfaRegex == null) {
+            return ConstraintResult.VALID;
+        }
+
+        int pattern = multiDfaRegex.firstNotMatching(text);
+
+        if (pattern >= 0) {
+            return regexConstraints.get(constraintIndexByPattern[pattern]).getNotValidTextResult();
+        }
+
+        return ConstraintResult.VALID;
+    }
+}
@@ -16,19 +16,23 @@
 
 package com.danieleperuzzi.valid.text;
 
-import com.danieleperuzzi.valid.core.constraint.Constraint;
 import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
-import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.util.PatternCache;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class RegexTextConstraint extends Constraint<String, String> {
+public class RegexTextConstraint extends TextConstraint<String> {
 
     public RegexTextConstraint(String regex, int evaluationPriority, String error) {
         super(regex, evaluationPriority, error);
     }
 
+    @Override
+    public boolean canStopValidation() {
+        return false;
+    }
+
     @Override
     protected boolean shouldStopValidation(String text) {
         return false;
@@ -36,18 +40,11 @@ public class RegexTextConstraint extends Constraint<String, String> {
 
     @Override
     protected ConstraintResult evaluate(String text) {
-        ValidableStatus status;
-        String error;
-
         if (!satisfyRegex(text)) {
-            status = ValidableStatus.NOT_VALID;
-            error = getError();
-        } else {
-            status = ValidableStatus.VALID;
-            error = null;
+            return getNotValidResult();
         }
 
-        return new ConstraintResult(status, error);
+        return ConstraintResult.VALID;
     }
 
     private boolean satisfyRegex(String text) {
@@ -59,7 +56,7 @@ public class RegexTextConstraint extends Constraint<String, String> {
             return true;
         }
 
-        Pattern pattern = Pattern.compile(getConstraint());
+        Pattern pattern = PatternCache.getInstance().getPattern(getConstraint());
         Matcher matcher = pattern.matcher(text);
         return matcher.matches();
     }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+
+/**
+ * Common base of the text constraints of this package.
+ *
+ * <p>It gives the other classes of the package, the ones that combine many text
+ * constraints into a cheaper one, access to the information held by every constraint
+ * without exposing it outside the package.</p>
+ *
+ * @param <C>   the Object that holds information against which the text is going
+ *              to be validated
+ */
+abstract class TextConstraint<C> extends Constraint<String, C> {
+
+    TextConstraint(C constraint, int evaluationPriority, String error) {
+        super(String.class, constraint, evaluationPriority, error);
+    }
+
+    /**
+     * @return  the Object that holds information against which the text is validated
+     */
+    C getTextConstraint() {
+        return getConstraint();
+    }
+
+    /**
+     * @return  the result this constraint reports when the evaluation fails
+     */
+    ConstraintResult getNotValidTextResult() {
+        return getNotValidResult();
+    }
+}
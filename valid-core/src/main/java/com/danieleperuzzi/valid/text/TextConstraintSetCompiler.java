@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.text.regex.UnsupportedRegexException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites a {@link SortedConstraintSet} made of the text constraints of this package
+ * into an equivalent one that is cheaper to evaluate.
+ *
+ * <p>Every run of two or more consecutive {@link MandatoryTextConstraint},
+ * {@link MinLengthTextConstraint}, {@link MaxLengthTextConstraint} and
+ * {@link RegexTextConstraint} is replaced by a single {@link FusedTextConstraint} that
+ * examines the text once instead of once per constraint. A run made only of regex
+ * constraints is replaced by a {@link MultiRegexTextConstraint} that scans the text once
+ * instead of once per regex. Only consecutive constraints are merged so the priority
+ * order and the early stop of the constraints in between are untouched.</p>
+ *
+ * <p>If the regexes of a run made only of regex constraints cannot be compiled together,
+ * see {@link com.danieleperuzzi.valid.text.regex.MultiDfaRegex}, the run is left as it is.</p>
+ */
+public final class TextConstraintSetCompiler {
+
+    private TextConstraintSetCompiler() {
+    }
+
+    /**
+     * @param constraintSet     the set to compile
+     * @return                  an equivalent set, or the same set if there is nothing to compile
+     */
+    public static SortedConstraintSet compile(SortedConstraintSet constraintSet) {
+        List<Constraint<?, ?>> compiledConstraints = new ArrayList<>();
+        List<TextConstraint<?>> run = new ArrayList<>();
+        boolean changed = false;
+
+        for (Constraint<?, ?> constraint : constraintSet.getConstraints()) {
+            if (isFusable(constraint)) {
+                run.add((TextConstraint<?>) constraint);
+                continue;
+            }
+
+            changed |= flushRun(run, compiledConstraints);
+            compiledConstraints.add(constraint);
+        }
+
+        changed |= flushRun(run, compiledConstraints);
+
+        if (!changed) {
+            return constraintSet;
+        }
+
+        SortedConstraintSet.Builder builder = new SortedConstraintSet.Builder();
+
+        for (Constraint<?, ?> constraint : compiledConstraints) {
+            builder.addConstraint(constraint);
+        }
+
+        return builder.build();
+    }
+
+    private static boolean isFusable(Constraint<?, ?> constraint) {
+        // subclasses may behave differently so only the exact classes are merged
+        Class<?> constraintClass = constraint.getClass();
+
+        return constraintClass == MandatoryTextConstraint.class
+                || constraintClass == MinLengthTextConstraint.class
+                || constraintClass == MaxLengthTextConstraint.class
+                || constraintClass == RegexTextConstraint.class;
+    }
+
+    /**
+     * @param run                   the consecutive text constraints found so far, it is cleared
+     * @param compiledConstraints   where the compiled constraints are collected
+     * @return                      true if the run has been merged
+     */
+    private static boolean flushRun(List<TextConstraint<?>> run, List<Constraint<?, ?>> compiledConstraints) {
+        boolean merged = false;
+
+        if (run.size() > 1) {
+            List<RegexTextConstraint> regexRun = new ArrayList<>();
+
+            for (TextConstraint<?> constraint : run) {
+                if (constraint.getClass() == RegexTextConstraint.class) {
+                    regexRun.add((RegexTextConstraint) constraint);
+                }
+            }
+
+            if (regexRun.size() < run.size()) {
+                compiledConstraints.add(new FusedTextConstraint(run));
+                merged = true;
+            } else {
+                try {
+                    compiledConstraints.add(new MultiRegexTextConstraint(regexRun));
+                    merged = true;
+                } catch (UnsupportedRegexException e) {
+                    compiledConstraints.addAll(run);
+                }
+            }
+        } else {
+            compiledConstraints.addAll(run);
+        }
+
+        run.clear();
+        return merged;
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import android.support.annotation.Nullable;
+
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Removes from a {@link SortedConstraintSet} the text constraints of this package that
+ * can never fail.
+ *
+ * <p>The constraints are walked in evaluation order collecting what is known about every
+ * text that reaches the next constraint: for example a text that passed a
+ * {@link MinLengthTextConstraint} of 8 is at least 8 characters long, so a following
+ * {@link MinLengthTextConstraint} of 3 always succeeds and can be removed. The same
+ * applies to {@link MaxLengthTextConstraint}, to a {@link MandatoryTextConstraint}
+ * following any constraint that guarantees a not empty text and to duplicate
+ * {@link RegexTextConstraint}. Constraints that never fail on their own, like a
+ * {@link MaxLengthTextConstraint} of -1, are removed too.</p>
+ *
+ * <p>A constraint is removed only if it would succeed, without stopping the validation,
+ * on every text that can reach it, so the error reported for any text does not change.
+ * Only the exact classes are considered because subclasses may behave differently.</p>
+ *
+ * <p>Every removed constraint is reported together with the constraint that implies it,
+ * see {@link OptimizedConstraintSet}.</p>
+ */
+public final class TextConstraintSetOptimizer {
+
+    private TextConstraintSetOptimizer() {
+    }
+
+    /**
+     * @param constraintSet     the set to optimize
+     * @return                  the optimized set, it is the same set if nothing has been removed,
+     *                          together with the report of what has been removed
+     */
+    public static OptimizedConstraintSet optimize(SortedConstraintSet constraintSet) {
+        Knowledge knowledge = new Knowledge();
+        List<Constraint<?, ?>> keptConstraints = new ArrayList<>();
+        List<RemovedConstraint> removedConstraints = new ArrayList<>();
+
+        for (Constraint<?, ?> constraint : constraintSet.getConstraints()) {
+            RemovedConstraint removed = knowledge.learn(constraint);
+
+            if (removed == null) {
+                keptConstraints.add(constraint);
+            } else {
+                removedConstraints.add(removed);
+            }
+        }
+
+        if (removedConstraints.isEmpty()) {
+            return new OptimizedConstraintSet(constraintSet, Collections.<RemovedConstraint>emptyList());
+        }
+
+        SortedConstraintSet.Builder builder = new SortedConstraintSet.Builder();
+
+        for (Constraint<?, ?> constraint : keptConstraints) {
+            builder.addConstraint(constraint);
+        }
+
+        return new OptimizedConstraintSet(builder.build(), Collections.unmodifiableList(removedConstraints));
+    }
+
+    /**
+     * The outcome of {@link #optimize(SortedConstraintSet)}
+     */
+    public static final class OptimizedConstraintSet {
+
+        public final SortedConstraintSet constraintSet;
+
+        /**
+         * The removed constraints in evaluation order
+         */
+        public final List<RemovedConstraint> removedConstraints;
+
+        OptimizedConstraintSet(SortedConstraintSet constraintSet, List<RemovedConstraint> removedConstraints) {
+            this.constraintSet = constraintSet;
+            this.removedConstraints = removedConstraints;
+        }
+    }
+
+    /**
+     * A constraint removed by {@link #optimize(SortedConstraintSet)}
+     */
+    public static final class RemovedConstraint {
+
+        public final Constraint<String, ?> constraint;
+
+        /**
+         * The constraint, evaluated before the removed one, that makes it always succeed.
+         * It is null if the removed constraint succeeds on every text by itself.
+         */
+        @Nullable
+        public final Constraint<String, ?> impliedBy;
+
+        private final String description;
+
+        RemovedConstraint(TextConstraint<?> constraint, @Nullable TextConstraint<?> impliedBy) {
+            this.constraint = constraint;
+            this.impliedBy = impliedBy;
+
+            if (impliedBy == null) {
+                description = describe(constraint) + " never fails";
+            } else {
+                description = describe(constraint) + " is implied by " + describe(impliedBy);
+            }
+        }
+
+        private static String describe(TextConstraint<?> constraint) {
+            return constraint.getClass().getSimpleName() + "(" + constraint.getTextConstraint() + ")"
+                    + " with priority " + constraint.getEvaluationPriority();
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    /**
+     * What is known about every text that reaches the constraint being examined,
+     * each fact is paired with the constraint that established it
+     */
+    private static final class Knowledge {
+
+        @Nullable
+        private TextConstraint<?> notNullSource;
+
+        /**
+         * Meaningful only when the text is known to be not null
+         */
+        private int minLength;
+
+        @Nullable
+        private TextConstraint<?> minLengthSource;
+
+        /**
+         * Meaningful only when {@link #maxLengthSource} is not null, a null text
+         * satisfies it too
+         */
+        private int maxLength;
+
+        @Nullable
+        private TextConstraint<?> maxLengthSource;
+
+        private final Map<String, TextConstraint<?>> matchedRegexes = new HashMap<>();
+
+        /**
+         * @param constraint    the next constraint in evaluation order
+         * @return              the removal of the constraint, or null if it must be kept
+         */
+        @Nullable
+        RemovedConstraint learn(Constraint<?, ?> constraint) {
+            Class<?> constraintClass = constraint.getClass();
+
+            if (constraintClass == MandatoryTextConstraint.class) {
+                return learnMandatory((MandatoryTextConstraint) constraint);
+            }
+
+            if (constraintClass == MinLengthTextConstraint.class) {
+                return learnMinLength((MinLengthTextConstraint) constraint);
+            }
+
+            if (constraintClass == MaxLengthTextConstraint.class) {
+                return learnMaxLength((MaxLengthTextConstraint) constraint);
+            }
+
+            if (constraintClass == RegexTextConstraint.class) {
+                return learnRegex((RegexTextConstraint) constraint);
+            }
+
+            return null;
+        }
+
+        @Nullable
+        private RemovedConstraint learnMandatory(MandatoryTextConstraint constraint) {
+            if (constraint.getTextConstraint() == null) {
+                return null;
+            }
+
+            // a not empty text satisfies it and never stops the validation
+            if (minLengthSource != null && minLength >= 1) {
+                return new RemovedConstraint(constraint, minLengthSource);
+            }
+
+            // from now on the text is not empty, an empty one fails or stops the validation here
+            knowMinLength(1, constraint);
+            return null;
+        }
+
+        @Nullable
+        private RemovedConstraint learnMinLength(MinLengthTextConstraint constraint) {
+            Integer length = constraint.getTextConstraint();
+
+            if (length == null) {
+                return null;
+            }
+
+            if (length == 0) {
+                return new RemovedConstraint(constraint, null);
+            }
+
+            if (length < 0) {
+                // a null text cannot be evaluated, it is safe to remove only if it cannot get here
+                return notNullSource != null ? new RemovedConstraint(constraint, notNullSource) : null;
+            }
+
+            if (minLengthSource != null && minLength >= length) {
+                return new RemovedConstraint(constraint, minLengthSource);
+            }
+
+            knowMinLength(length, constraint);
+            return null;
+        }
+
+        @Nullable
+        private RemovedConstraint learnMaxLength(MaxLengthTextConstraint constraint) {
+            Integer length = constraint.getTextConstraint();
+
+            if (length == null) {
+                return null;
+            }
+
+            if (length == -1) {
+                return new RemovedConstraint(constraint, null);
+            }
+
+            if (length < 0) {
+                return null;
+            }
+
+            if (maxLengthSource != null && maxLength <= length) {
+                return new RemovedConstraint(constraint, maxLengthSource);
+            }
+
+            maxLength = length;
+            maxLengthSource = constraint;
+            return null;
+        }
+
+        @Nullable
+        private RemovedConstraint learnRegex(RegexTextConstraint constraint) {
+            String regex = constraint.getTextConstraint();
+
+            // a null regex is satisfied by any not null text
+            if (regex == null && notNullSource != null) {
+                return new RemovedConstraint(constraint, notNullSource);
+            }
+
+            TextConstraint<?> source = matchedRegexes.get(regex);
+
+            if (source != null) {
+                return new RemovedConstraint(constraint, source);
+            }
+
+            matchedRegexes.put(regex, constraint);
+            knowNotNull(constraint);
+            return null;
+        }
+
+        private void knowMinLength(int length, TextConstraint<?> source) {
+            minLength = length;
+            minLengthSource = source;
+            knowNotNull(source);
+        }
+
+        private void knowNotNull(TextConstraint<?> source) {
+            if (notNullSource == null) {
+                notNullSource = source;
+            }
+        }
+    }
+}
@@ -18,15 +18,17 @@ package com.danieleperuzzi.valid.text;
 
 import android.support.annotation.Nullable;
 
-import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.VersionedValidable;
 
-public class ValidableText implements Validable<String> {
+public class ValidableText implements VersionedValidable<String> {
 
     private String text;
 
     @Nullable
     private String tag;
 
+    private volatile long version;
+
     @Override
     public String getValue() {
         return text;
@@ -41,6 +43,12 @@ public class ValidableText implements Validable<String> {
     public void setValue(String text, @Nullable String tag) {
         this.text = text;
         this.tag = tag;
+        version++;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
     }
 
     public ValidableText(String text, @Nullable String tag) {
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of code points stored as sorted, disjoint and non adjacent
+ * ranges: {@code [lo0, hi0, lo1, hi1, ...]} with bounds included.
+ */
+final class CharSet {
+
+    static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    static final CharSet EMPTY = new CharSet(new int[0]);
+    static final CharSet DIGIT = range('0', '9');
+    static final CharSet WORD = of(new int[] {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'});
+    static final CharSet SPACE = of(new int[] {'\t', '\r', ' ', ' '});
+
+    /**
+     * The dot does not match line terminators, the same as {@link java.util.regex.Pattern}
+     * without flags
+     */
+    static final CharSet DOT = of(new int[] {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029}).complement();
+
+    final int[] ranges;
+
+    private CharSet(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    static CharSet single(int codePoint) {
+        return new CharSet(new int[] {codePoint, codePoint});
+    }
+
+    static CharSet range(int lo, int hi) {
+        return new CharSet(new int[] {lo, hi});
+    }
+
+    /**
+     * @param pairs     lo, hi pairs in any order, they can also overlap
+     * @return          the normalized set
+     */
+    static CharSet of(int[] pairs) {
+        int count = pairs.length / 2;
+        long[] sorted = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            sorted[i] = ((long) pairs[2 * i] << 32) | (pairs[2 * i + 1] & 0xFFFFFFFFL);
+        }
+
+        Arrays.sort(sorted);
+
+        int[] merged = new int[pairs.length];
+        int size = 0;
+
+        for (long pair : sorted) {
+            int lo = (int) (pair >>> 32);
+            int hi = (int) pair;
+
+            if (size > 0 && lo <= merged[size - 1] + 1) {
+                merged[size - 1] = Math.max(merged[size - 1], hi);
+            } else {
+                merged[size++] = lo;
+                merged[size++] = hi;
+            }
+        }
+
+        return new CharSet(Arrays.copyOf(merged, size));
+    }
+
+    CharSet union(CharSet other) {
+        int[] pairs = Arrays.copyOf(ranges, ranges.length + other.ranges.length);
+        System.arraycopy(other.ranges, 0, pairs, ranges.length, other.ranges.length);
+        return of(pairs);
+    }
+
+    CharSet complement() {
+        int[] result = new int[ranges.length + 2];
+        int size = 0;
+        int next = 0;
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > next) {
+                result[size++] = next;
+                result[size++] = ranges[i] - 1;
+            }
+            next = ranges[i + 1] + 1;
+        }
+
+        if (next <= MAX_CODE_POINT) {
+            result[size++] = next;
+            result[size++] = MAX_CODE_POINT;
+        }
+
+        return new CharSet(Arrays.copyOf(result, size));
+    }
+
+    boolean contains(int codePoint) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (codePoint < ranges[2 * mid]) {
+                high = mid - 1;
+            } else if (codePoint > ranges[2 * mid + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    /**
+     * @return  the only code point of this set or -1 if the set holds more than one code point
+     */
+    int singleCodePoint() {
+        if (ranges.length == 2 && ranges[0] == ranges[1]) {
+            return ranges[0];
+        }
+
+        return -1;
+    }
+}
@@ -0,0 +1,337 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The transition table of a deterministic finite automaton built from an {@link Nfa}
+ * that can be the union of up to {@link #MAX_PATTERNS} patterns.
+ *
+ * <p>Every state holds a mask of the patterns it accepts so, running the automaton
+ * once, we know which patterns match the whole text.</p>
+ */
+final class Dfa {
+
+    static final int MAX_STATES = 4096;
+    static final int MAX_PATTERNS = Long.SIZE;
+
+    private static final int DEAD_STATE = -1;
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * The alphabet is split in classes of code points that behave the same for
+     * every transition, {@link #classStarts} holds the first code point of every class
+     */
+    private final int[] classStarts;
+    private final int[] asciiClasses;
+    private final int classCount;
+
+    private final int[] transitions;
+    private final long[] acceptMasks;
+
+    private Dfa(int[] classStarts, int[] transitions, long[] acceptMasks) {
+        this.classStarts = classStarts;
+        this.classCount = classStarts.length;
+        this.transitions = transitions;
+        this.acceptMasks = acceptMasks;
+
+        asciiClasses = new int[ASCII_SIZE];
+
+        for (int c = 0; c < ASCII_SIZE; c++) {
+            asciiClasses[c] = findClass(c);
+        }
+    }
+
+    /**
+     * @param source                        the regex source, or sources, used for error reporting
+     * @param nfa                           the NFA to convert
+     * @return                              the equivalent DFA
+     * @throws UnsupportedRegexException    if the DFA would be too big
+     */
+    static Dfa build(String source, Nfa nfa) throws UnsupportedRegexException {
+        return new Builder(source, nfa).build();
+    }
+
+    int stateCount() {
+        return acceptMasks.length;
+    }
+
+    /**
+     * @param text  the text to run the automaton on
+     * @return      the mask of the patterns that match the whole text
+     */
+    long run(CharSequence text) {
+        int state = 0;
+        int length = text.length();
+        int i = 0;
+
+        while (i < length) {
+            int codePoint = Character.codePointAt(text, i);
+            i += Character.charCount(codePoint);
+
+            state = transitions[state * classCount + classOf(codePoint)];
+
+            if (state == DEAD_STATE) {
+                return 0L;
+            }
+        }
+
+        return acceptMasks[state];
+    }
+
+    private int classOf(int codePoint) {
+        if (codePoint < ASCII_SIZE) {
+            return asciiClasses[codePoint];
+        }
+
+        return findClass(codePoint);
+    }
+
+    private int findClass(int codePoint) {
+        int index = Arrays.binarySearch(classStarts, codePoint);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Classic subset construction on top of the {@link Nfa}
+     */
+    private static class Builder {
+
+        private final String source;
+        private final Nfa nfa;
+
+        private int[] classStarts;
+        private boolean[][] classesByNfaState;
+
+        private final boolean[] visited;
+        private final int[] stack;
+        private final int[] reached;
+
+        private Builder(String source, Nfa nfa) {
+            this.source = source;
+            this.nfa = nfa;
+
+            visited = new boolean[nfa.size()];
+            stack = new int[nfa.size()];
+            reached = new int[nfa.size()];
+        }
+
+        private Dfa build() {
+            buildAlphabet();
+
+            int classCount = classStarts.length;
+
+            Map<StateSet, Integer> idByStateSet = new HashMap<>();
+            List<int[]> stateSets = new ArrayList<>();
+            Deque<Integer> queue = new ArrayDeque<>();
+
+            int[] startSet = closure(new int[] {nfa.getStartState()}, 1);
+            idByStateSet.put(new StateSet(startSet), 0);
+            stateSets.add(startSet);
+            queue.add(0);
+
+            int[] transitions = new int[classCount * 16];
+            int[] targets = new int[nfa.size()];
+
+            while (!queue.isEmpty()) {
+                int id = queue.poll();
+                int[] stateSet = stateSets.get(id);
+
+                for (int c = 0; c < classCount; c++) {
+                    int targetCount = 0;
+
+                    for (int nfaState : stateSet) {
+                        if (classesByNfaState[nfaState] != null && classesByNfaState[nfaState][c]) {
+                            targets[targetCount++] = nfa.getCharTarget(nfaState);
+                        }
+                    }
+
+                    int target = DEAD_STATE;
+
+                    if (targetCount > 0) {
+                        int[] targetSet = closure(targets, targetCount);
+                        StateSet key = new StateSet(targetSet);
+                        Integer existing = idByStateSet.get(key);
+
+                        if (existing == null) {
+                            if (stateSets.size() >= MAX_STATES) {
+                                throw new UnsupportedRegexException("Too many automaton states", source, -1);
+                            }
+
+                            existing = stateSets.size();
+                            idByStateSet.put(key, existing);
+                            stateSets.add(targetSet);
+                            queue.add(existing);
+                        }
+
+                        target = existing;
+                    }
+
+                    int position = id * classCount + c;
+
+                    if (position >= transitions.length) {
+                        transitions = Arrays.copyOf(transitions, transitions.length * 2);
+                    }
+
+                    transitions[position] = target;
+                }
+            }
+
+            long[] acceptMasks = new long[stateSets.size()];
+
+            for (int id = 0; id < acceptMasks.length; id++) {
+                for (int nfaState : stateSets.get(id)) {
+                    int pattern = nfa.getAcceptedPattern(nfaState);
+
+                    if (pattern >= 0) {
+                        acceptMasks[id] |= 1L << pattern;
+                    }
+                }
+            }
+
+            return new Dfa(classStarts, Arrays.copyOf(transitions, acceptMasks.length * classCount), acceptMasks);
+        }
+
+        /**
+         * Splits the code points in classes so every {@link CharSet} in the NFA
+         * is exactly a union of classes
+         */
+        private void buildAlphabet() {
+            int[] boundaries = new int[16];
+            int size = 0;
+
+            boundaries[size++] = 0;
+
+            for (int state = 0; state < nfa.size(); state++) {
+                CharSet set = nfa.getCharSet(state);
+
+                if (set != null) {
+                    if (size + set.ranges.length > boundaries.length) {
+                        boundaries = Arrays.copyOf(boundaries, (size + set.ranges.length) * 2);
+                    }
+
+                    for (int i = 0; i < set.ranges.length; i += 2) {
+                        boundaries[size++] = set.ranges[i];
+
+                        if (set.ranges[i + 1] < CharSet.MAX_CODE_POINT) {
+                            boundaries[size++] = set.ranges[i + 1] + 1;
+                        }
+                    }
+                }
+            }
+
+            Arrays.sort(boundaries, 0, size);
+
+            int distinct = 0;
+
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || boundaries[i] != boundaries[distinct - 1]) {
+                    boundaries[distinct++] = boundaries[i];
+                }
+            }
+
+            classStarts = Arrays.copyOf(boundaries, distinct);
+            classesByNfaState = new boolean[nfa.size()][];
+
+            for (int state = 0; state < nfa.size(); state++) {
+                CharSet set = nfa.getCharSet(state);
+
+                if (set != null) {
+                    boolean[] classes = new boolean[classStarts.length];
+
+                    for (int c = 0; c < classStarts.length; c++) {
+                        classes[c] = set.contains(classStarts[c]);
+                    }
+
+                    classesByNfaState[state] = classes;
+                }
+            }
+        }
+
+        /**
+         * @param states    the states to start from
+         * @param count     how many states of the array are meaningful
+         * @return          the sorted epsilon closure of the given states
+         */
+        private int[] closure(int[] states, int count) {
+            int stackSize = 0;
+            int size = 0;
+
+            for (int i = 0; i < count; i++) {
+                if (!visited[states[i]]) {
+                    visited[states[i]] = true;
+                    stack[stackSize++] = states[i];
+                    reached[size++] = states[i];
+                }
+            }
+
+            while (stackSize > 0) {
+                int state = stack[--stackSize];
+
+                for (int i = 0; i < nfa.getEpsilonCount(state); i++) {
+                    int target = nfa.getEpsilonTarget(state, i);
+
+                    if (!visited[target]) {
+                        visited[target] = true;
+                        stack[stackSize++] = target;
+                        reached[size++] = target;
+                    }
+                }
+            }
+
+            int[] result = Arrays.copyOf(reached, size);
+            Arrays.sort(result);
+
+            for (int state : result) {
+                visited[state] = false;
+            }
+
+            return result;
+        }
+    }
+
+    private static class StateSet {
+
+        private final int[] states;
+        private final int hash;
+
+        private StateSet(int[] states) {
+            this.states = states;
+            this.hash = Arrays.hashCode(states);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            StateSet that = (StateSet) o;
+            return hash == that.hash && Arrays.equals(states, that.states);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
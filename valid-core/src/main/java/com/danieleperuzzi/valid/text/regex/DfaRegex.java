@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+/**
+ * A regex compiled into a deterministic finite automaton.
+ *
+ * <p>As opposed to {@link java.util.regex.Pattern}, that relies on backtracking, matching
+ * a text against a DfaRegex takes a time that is linear in the text length whatever
+ * the regex is and it does not allocate any Object.</p>
+ *
+ * <p>The price to pay is that only a subset of the regex syntax can be compiled, see
+ * {@link RegexParser} for details, and that compiling is slower so a DfaRegex should be
+ * compiled once and then reused. Every unsupported construct is rejected at compile time
+ * with an {@link UnsupportedRegexException}.</p>
+ *
+ * <p>Like {@link java.util.regex.Matcher#matches()} the entire text must match the regex.</p>
+ *
+ * <p>Instances are immutable and thread safe.</p>
+ */
+public final class DfaRegex {
+
+    public static final int MAX_STATES = Dfa.MAX_STATES;
+
+    private final String pattern;
+    private final Dfa dfa;
+
+    private DfaRegex(String pattern, Dfa dfa) {
+        this.pattern = pattern;
+        this.dfa = dfa;
+    }
+
+    /**
+     * @param regex                         the regex source
+     * @return                              the compiled automaton
+     * @throws UnsupportedRegexException    if the regex uses constructs that cannot be
+     *                                      compiled into a DFA
+     */
+    public static DfaRegex compile(String regex) throws UnsupportedRegexException {
+        RegexParser.Node root = RegexParser.parse(regex);
+
+        Nfa nfa = new Nfa(regex);
+        int start = nfa.newState();
+        nfa.setStartState(start);
+        nfa.setAcceptState(root.build(nfa, start), 0);
+
+        return new DfaRegex(regex, Dfa.build(regex, nfa));
+    }
+
+    /**
+     * @return  the source of this regex
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * @return  the number of states of the automaton
+     */
+    public int stateCount() {
+        return dfa.stateCount();
+    }
+
+    /**
+     * @param text  the text to match
+     * @return      true if the whole text matches this regex
+     */
+    public boolean matches(CharSequence text) {
+        return dfa.run(text) != 0L;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Many regexes compiled together into a single deterministic finite automaton.
+ *
+ * <p>The automaton is the union of the regexes and every state knows which of them
+ * it accepts, so the text is scanned only once, in linear time and without
+ * allocations, to know which regexes match the whole text.</p>
+ *
+ * <p>The regexes keep the order they are declared with, this is what
+ * {@link #firstNotMatching(CharSequence)} relies on.</p>
+ *
+ * <p>Instances are immutable and thread safe.</p>
+ */
+public final class MultiDfaRegex {
+
+    public static final int MAX_PATTERNS = Dfa.MAX_PATTERNS;
+
+    private final List<String> patterns;
+    private final Dfa dfa;
+    private final long allPatternsMask;
+
+    private MultiDfaRegex(List<String> patterns, Dfa dfa) {
+        this.patterns = patterns;
+        this.dfa = dfa;
+
+        allPatternsMask = patterns.size() == Long.SIZE ? -1L : (1L << patterns.size()) - 1;
+    }
+
+    /**
+     * @param regexes                       the ordered regex sources
+     * @return                              the compiled automaton
+     * @throws UnsupportedRegexException    if any regex uses constructs that cannot be compiled
+     *                                      into a DFA or the combined automaton would be too big
+     */
+    public static MultiDfaRegex compile(List<String> regexes) throws UnsupportedRegexException {
+        String source = String.valueOf(regexes);
+
+        if (regexes.isEmpty() || regexes.size() > MAX_PATTERNS) {
+            throw new UnsupportedRegexException("Between 1 and " + MAX_PATTERNS + " regexes can be combined", source, -1);
+        }
+
+        Nfa nfa = new Nfa(source);
+        int start = nfa.newState();
+        nfa.setStartState(start);
+
+        for (int i = 0; i < regexes.size(); i++) {
+            RegexParser.Node root = RegexParser.parse(regexes.get(i));
+            int patternStart = nfa.newState();
+
+            nfa.addEpsilon(start, patternStart);
+            nfa.setAcceptState(root.build(nfa, patternStart), i);
+        }
+
+        List<String> patterns = Collections.unmodifiableList(new ArrayList<>(regexes));
+        return new MultiDfaRegex(patterns, Dfa.build(source, nfa));
+    }
+
+    /**
+     * @return  the ordered regex sources
+     */
+    public List<String> patterns() {
+        return patterns;
+    }
+
+    /**
+     * @return  the number of states of the automaton
+     */
+    public int stateCount() {
+        return dfa.stateCount();
+    }
+
+    /**
+     * @param text  the text to match
+     * @return      the index of the first regex, in declaration order, that
+     *              does not match the whole text or -1 if all of them match
+     */
+    public int firstNotMatching(CharSequence text) {
+        long notMatching = ~dfa.run(text) & allPatternsMask;
+
+        if (notMatching == 0L) {
+            return -1;
+        }
+
+        return Long.numberOfTrailingZeros(notMatching);
+    }
+}
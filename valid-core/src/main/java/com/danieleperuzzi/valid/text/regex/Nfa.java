@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thompson NFA built from the regex syntax tree, it is only an intermediate
+ * step used to build the {@link DfaRegex}.
+ *
+ * <p>Every state has at most one transition on a {@link CharSet} and any number
+ * of epsilon transitions.</p>
+ */
+final class Nfa {
+
+    static final int MAX_STATES = 20000;
+
+    private final String regex;
+    private final List<State> states = new ArrayList<>();
+
+    private int startState;
+
+    Nfa(String regex) {
+        this.regex = regex;
+    }
+
+    int newState() {
+        if (states.size() >= MAX_STATES) {
+            throw new UnsupportedRegexException("Too many automaton states", regex, -1);
+        }
+
+        states.add(new State());
+        return states.size() - 1;
+    }
+
+    void addEpsilon(int from, int to) {
+        State state = states.get(from);
+
+        if (state.epsilonCount == state.epsilonTargets.length) {
+            int[] grown = new int[state.epsilonTargets.length * 2 + 2];
+            System.arraycopy(state.epsilonTargets, 0, grown, 0, state.epsilonCount);
+            state.epsilonTargets = grown;
+        }
+
+        state.epsilonTargets[state.epsilonCount++] = to;
+    }
+
+    /**
+     * Adds a transition on the given set from a state to a new state
+     *
+     * @param from  the source state
+     * @param set   the accepted code points
+     * @return      the new state
+     */
+    int addTransition(int from, CharSet set) {
+        if (states.get(from).charSet != null) {
+            int fresh = newState();
+            addEpsilon(from, fresh);
+            from = fresh;
+        }
+
+        int to = newState();
+        State state = states.get(from);
+        state.charSet = set;
+        state.charTarget = to;
+
+        return to;
+    }
+
+    void setStartState(int startState) {
+        this.startState = startState;
+    }
+
+    /**
+     * @param state     the accept state
+     * @param pattern   the index of the pattern accepted by the state, an NFA
+     *                  can be the union of many patterns
+     */
+    void setAcceptState(int state, int pattern) {
+        states.get(state).acceptedPattern = pattern;
+    }
+
+    int getStartState() {
+        return startState;
+    }
+
+    /**
+     * @param state     the state to inspect
+     * @return          the index of the pattern accepted by the state or -1
+     */
+    int getAcceptedPattern(int state) {
+        return states.get(state).acceptedPattern;
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    CharSet getCharSet(int state) {
+        return states.get(state).charSet;
+    }
+
+    int getCharTarget(int state) {
+        return states.get(state).charTarget;
+    }
+
+    int getEpsilonCount(int state) {
+        return states.get(state).epsilonCount;
+    }
+
+    int getEpsilonTarget(int state, int index) {
+        return states.get(state).epsilonTargets[index];
+    }
+
+    private static class State {
+        private CharSet charSet;
+        private int charTarget = -1;
+        private int[] epsilonTargets = new int[0];
+        private int epsilonCount = 0;
+        private int acceptedPattern = -1;
+    }
+}
@@ -0,0 +1,557 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive descent parser for the regex subset supported by {@link DfaRegex}.
+ *
+ * <p>The supported syntax is a subset of {@link java.util.regex.Pattern}:</p>
+ *
+ * <ul>
+ *     <li>literals, the dot and the escapes {@code \d \D \w \W \s \S \t \n \r \f \a \e \0 \x \c} and unicode escapes</li>
+ *     <li>escaped metacharacters, for example {@code \. \( \\}</li>
+ *     <li>character classes with ranges and negation, for example {@code [^a-z\d_]}</li>
+ *     <li>capturing and non capturing groups, captures are simply ignored</li>
+ *     <li>alternation and the greedy or reluctant quantifiers {@code * + ? {n} {n,} {n,m}}</li>
+ *     <li>{@code ^} at the beginning and {@code $} at the end of a top level alternative</li>
+ * </ul>
+ *
+ * <p>Anything else, for example backreferences, lookarounds, word boundaries, possessive
+ * quantifiers, inline flags or nested classes, raises an {@link UnsupportedRegexException}.</p>
+ */
+final class RegexParser {
+
+    static final int MAX_REPETITION = 1000;
+
+    private static final String QUANTIFIERS = "*+?{";
+
+    private final String regex;
+    private int index = 0;
+    private int depth = 0;
+
+    private RegexParser(String regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * @param regex                         the regex source
+     * @return                              the syntax tree of the regex
+     * @throws UnsupportedRegexException    if the regex uses unsupported constructs
+     */
+    static Node parse(String regex) throws UnsupportedRegexException {
+        RegexParser parser = new RegexParser(regex);
+        Node node = parser.parseAlternation();
+
+        if (parser.hasNext()) {
+            throw parser.unsupported("Unmatched closing ')'");
+        }
+
+        return node;
+    }
+
+    private Node parseAlternation() {
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(parseConcatenation());
+
+        while (hasNext() && peek() == '|') {
+            index++;
+            alternatives.add(parseConcatenation());
+        }
+
+        return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+    }
+
+    private Node parseConcatenation() {
+        List<Node> nodes = new ArrayList<>();
+
+        while (hasNext() && peek() != '|' && peek() != ')') {
+            int c = peek();
+
+            if (c == '^') {
+                if (depth > 0 || !nodes.isEmpty()) {
+                    throw unsupported("Anchor '^' is only supported at the beginning");
+                }
+                index++;
+                continue;
+            }
+
+            if (c == '$') {
+                index++;
+                if (depth > 0 || (hasNext() && peek() != '|')) {
+                    index--;
+                    throw unsupported("Anchor '$' is only supported at the end");
+                }
+                continue;
+            }
+
+            nodes.add(parseQuantifier(parseAtom()));
+        }
+
+        if (nodes.isEmpty()) {
+            return Empty.INSTANCE;
+        }
+
+        return nodes.size() == 1 ? nodes.get(0) : new Concatenation(nodes);
+    }
+
+    private Node parseQuantifier(Node atom) {
+        if (!hasNext() || QUANTIFIERS.indexOf(peek()) < 0) {
+            return atom;
+        }
+
+        int start = index;
+        int min;
+        int max;
+
+        switch (next()) {
+            case '*':
+                min = 0;
+                max = Repetition.INFINITE;
+                break;
+            case '+':
+                min = 1;
+                max = Repetition.INFINITE;
+                break;
+            case '?':
+                min = 0;
+                max = 1;
+                break;
+            default:
+                min = parseNumber();
+                max = min;
+
+                if (hasNext() && peek() == ',') {
+                    index++;
+                    max = hasNext() && peek() == '}' ? Repetition.INFINITE : parseNumber();
+                }
+
+                if (!hasNext() || next() != '}') {
+                    index = start;
+                    throw unsupported("Malformed repetition");
+                }
+
+                if (max != Repetition.INFINITE && max < min) {
+                    index = start;
+                    throw unsupported("Illegal repetition range");
+                }
+        }
+
+        if (hasNext() && peek() == '+') {
+            throw unsupported("Possessive quantifiers are not supported");
+        }
+
+        // a reluctant quantifier changes what a find would capture, not whether the whole input matches
+        if (hasNext() && peek() == '?') {
+            index++;
+        }
+
+        if (hasNext() && QUANTIFIERS.indexOf(peek()) >= 0) {
+            throw unsupported("Dangling quantifier");
+        }
+
+        return new Repetition(atom, min, max);
+    }
+
+    private int parseNumber() {
+        int start = index;
+        int value = 0;
+
+        while (hasNext() && peek() >= '0' && peek() <= '9') {
+            value = value * 10 + (next() - '0');
+
+            if (value > MAX_REPETITION) {
+                index = start;
+                throw unsupported("Repetition bound greater than " + MAX_REPETITION);
+            }
+        }
+
+        if (start == index) {
+            throw unsupported("Malformed repetition");
+        }
+
+        return value;
+    }
+
+    private Node parseAtom() {
+        int c = peek();
+
+        switch (c) {
+            case '(':
+                return parseGroup();
+            case '[':
+                index++;
+                return new CharNode(parseClass());
+            case '.':
+                index++;
+                return new CharNode(CharSet.DOT);
+            case '\\':
+                index++;
+                return new CharNode(parseEscape());
+            case '*':
+            case '+':
+            case '?':
+            case '{':
+                throw unsupported("Dangling quantifier");
+            default:
+                index += Character.charCount(c);
+                return new CharNode(CharSet.single(c));
+        }
+    }
+
+    private Node parseGroup() {
+        int start = index;
+        index++;
+
+        if (hasNext() && peek() == '?') {
+            index++;
+
+            if (!hasNext() || next() != ':') {
+                index = start;
+                throw unsupported("Only non capturing groups are supported among special groups");
+            }
+        }
+
+        depth++;
+        Node node = parseAlternation();
+        depth--;
+
+        if (!hasNext() || next() != ')') {
+            index = start;
+            throw unsupported("Unclosed group");
+        }
+
+        return node;
+    }
+
+    private CharSet parseClass() {
+        int start = index - 1;
+        boolean negated = false;
+
+        if (hasNext() && peek() == '^') {
+            negated = true;
+            index++;
+        }
+
+        if (hasNext() && peek() == ']') {
+            throw unsupported("Empty character class");
+        }
+
+        CharSet set = CharSet.EMPTY;
+
+        while (true) {
+            if (!hasNext()) {
+                index = start;
+                throw unsupported("Unclosed character class");
+            }
+
+            int c = peek();
+
+            if (c == ']') {
+                index++;
+                break;
+            }
+
+            if (c == '[' || (c == '&' && regex.startsWith("&&", index))) {
+                throw unsupported("Nested classes and intersections are not supported");
+            }
+
+            CharSet item = parseClassItem();
+            int lo = item.singleCodePoint();
+
+            if (lo >= 0 && hasNext() && peek() == '-' && index + 1 < regex.length() && regex.charAt(index + 1) != ']') {
+                index++;
+                int hi = parseClassItem().singleCodePoint();
+
+                if (hi < 0 || hi < lo) {
+                    throw unsupported("Illegal character range");
+                }
+
+                item = CharSet.range(lo, hi);
+            }
+
+            set = set.union(item);
+        }
+
+        return negated ? set.complement() : set;
+    }
+
+    private CharSet parseClassItem() {
+        int c = peek();
+
+        if (c == '\\') {
+            index++;
+            return parseEscape();
+        }
+
+        index += Character.charCount(c);
+        return CharSet.single(c);
+    }
+
+    private CharSet parseEscape() {
+        if (!hasNext()) {
+            throw unsupported("Unexpected end of regex");
+        }
+
+        int start = index - 1;
+        int c = next();
+
+        switch (c) {
+            case 'd':
+                return CharSet.DIGIT;
+            case 'D':
+                return CharSet.DIGIT.complement();
+            case 'w':
+                return CharSet.WORD;
+            case 'W':
+                return CharSet.WORD.complement();
+            case 's':
+                return CharSet.SPACE;
+            case 'S':
+                return CharSet.SPACE.complement();
+            case 't':
+                return CharSet.single('\t');
+            case 'n':
+                return CharSet.single('\n');
+            case 'r':
+                return CharSet.single('\r');
+            case 'f':
+                return CharSet.single('\f');
+            case 'a':
+                return CharSet.single(0x07);
+            case 'e':
+                return CharSet.single(0x1B);
+            case '0':
+                return CharSet.single(parseOctal(start));
+            case 'x':
+                return CharSet.single(parseHex(start));
+            case 'u':
+                return CharSet.single(parseHexDigits(start, 4));
+            case 'c':
+                if (!hasNext()) {
+                    index = start;
+                    throw unsupported("Illegal control escape");
+                }
+                return CharSet.single(next() ^ 64);
+            default:
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                    index = start;
+                    throw unsupported("Escape sequence \\" + (char) c + " is not supported");
+                }
+                return CharSet.single(c);
+        }
+    }
+
+    private int parseOctal(int start) {
+        int value = 0;
+        int digits = 0;
+
+        while (digits < 3 && hasNext() && peek() >= '0' && peek() <= '7' && value * 8 + (peek() - '0') <= 0377) {
+            value = value * 8 + (next() - '0');
+            digits++;
+        }
+
+        if (digits == 0) {
+            index = start;
+            throw unsupported("Illegal octal escape");
+        }
+
+        return value;
+    }
+
+    private int parseHex(int start) {
+        if (hasNext() && peek() == '{') {
+            index++;
+            int end = regex.indexOf('}', index);
+
+            if (end < 0 || end == index || end - index > 6) {
+                index = start;
+                throw unsupported("Illegal hexadecimal escape");
+            }
+
+            int value = parseHexDigits(start, end - index);
+            index++;
+
+            if (value > CharSet.MAX_CODE_POINT) {
+                index = start;
+                throw unsupported("Illegal hexadecimal escape");
+            }
+
+            return value;
+        }
+
+        return parseHexDigits(start, 2);
+    }
+
+    private int parseHexDigits(int start, int count) {
+        int value = 0;
+
+        for (int i = 0; i < count; i++) {
+            int digit = hasNext() ? Character.digit(peek(), 16) : -1;
+
+            if (digit < 0) {
+                index = start;
+                throw unsupported("Illegal hexadecimal escape");
+            }
+
+            value = value * 16 + digit;
+            index++;
+        }
+
+        return value;
+    }
+
+    private boolean hasNext() {
+        return index < regex.length();
+    }
+
+    private int peek() {
+        return regex.codePointAt(index);
+    }
+
+    private int next() {
+        int c = regex.codePointAt(index);
+        index += Character.charCount(c);
+        return c;
+    }
+
+    private UnsupportedRegexException unsupported(String message) {
+        return new UnsupportedRegexException(message, regex, index);
+    }
+
+    /**
+     * A node of the regex syntax tree, it knows how to build its own NFA fragment
+     */
+    abstract static class Node {
+
+        /**
+         * @param nfa       the NFA under construction
+         * @param start     the state the fragment starts from
+         * @return          the state the fragment ends to
+         */
+        abstract int build(Nfa nfa, int start);
+    }
+
+    static final class Empty extends Node {
+
+        static final Empty INSTANCE = new Empty();
+
+        @Override
+        int build(Nfa nfa, int start) {
+            return start;
+        }
+    }
+
+    static final class CharNode extends Node {
+
+        private final CharSet set;
+
+        CharNode(CharSet set) {
+            this.set = set;
+        }
+
+        @Override
+        int build(Nfa nfa, int start) {
+            return nfa.addTransition(start, set);
+        }
+    }
+
+    static final class Concatenation extends Node {
+
+        private final List<Node> nodes;
+
+        Concatenation(List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        int build(Nfa nfa, int start) {
+            int current = start;
+
+            for (Node node : nodes) {
+                current = node.build(nfa, current);
+            }
+
+            return current;
+        }
+    }
+
+    static final class Alternation extends Node {
+
+        private final List<Node> alternatives;
+
+        Alternation(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+        @Override
+        int build(Nfa nfa, int start) {
+            int end = nfa.newState();
+
+            for (Node alternative : alternatives) {
+                int branch = nfa.newState();
+                nfa.addEpsilon(start, branch);
+                nfa.addEpsilon(alternative.build(nfa, branch), end);
+            }
+
+            return end;
+        }
+    }
+
+    static final class Repetition extends Node {
+
+        static final int INFINITE = -1;
+
+        private final Node node;
+        private final int min;
+        private final int max;
+
+        Repetition(Node node, int min, int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        int build(Nfa nfa, int start) {
+            int current = start;
+
+            for (int i = 0; i < min; i++) {
+                current = node.build(nfa, current);
+            }
+
+            if (max == INFINITE) {
+                int loop = nfa.newState();
+                nfa.addEpsilon(current, loop);
+                nfa.addEpsilon(node.build(nfa, loop), loop);
+                return loop;
+            }
+
+            int end = nfa.newState();
+
+            for (int i = min; i < max; i++) {
+                nfa.addEpsilon(current, end);
+                current = node.build(nfa, current);
+            }
+
+            nfa.addEpsilon(current, end);
+            return end;
+        }
+    }
+}
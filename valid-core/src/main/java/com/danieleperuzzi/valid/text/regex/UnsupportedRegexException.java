@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+/**
+ * Thrown when a regex uses a construct that cannot be compiled into a {@link DfaRegex},
+ * for example backreferences or lookarounds, or when the resulting automaton
+ * would be too big.
+ *
+ * <p>It is an {@link IllegalArgumentException} so it is thrown by the constructor of
+ * the constraint that declares the regex, not during validation.</p>
+ */
+public class UnsupportedRegexException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String regex;
+    private final int index;
+
+    /**
+     * @param message   the description of the problem
+     * @param regex     the regex that cannot be compiled
+     * @param index     the index of the unsupported construct in the regex, -1 if not applicable
+     */
+    public UnsupportedRegexException(String message, String regex, int index) {
+        super(buildMessage(message, regex, index));
+
+        this.regex = regex;
+        this.index = index;
+    }
+
+    public String getRegex() {
+        return regex;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    private static String buildMessage(String message, String regex, int index) {
+        if (index < 0) {
+            return message + " in regex \"" + regex + "\"";
+        }
+
+        return message + " near index " + index + " in regex \"" + regex + "\"";
+    }
+}
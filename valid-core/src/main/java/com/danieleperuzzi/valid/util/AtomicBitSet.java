@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed size bit set whose bits can be set and cleared from any thread without locking,
+ * every word is updated with a compare and set.
+ *
+ * <p>It also keeps the number of set bits up to date every time a bit actually flips,
+ * so {@link #isEmpty()} is O(1), while {@link #cardinality()} counts them again with
+ * {@link Long#bitCount(long)}, one word at a time. Iterating only the set bits is cheap
+ * thanks to {@link #nextSetBit(int)}.</p>
+ */
+public class AtomicBitSet {
+
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+    private static final int BITS_PER_WORD = 1 << ADDRESS_BITS_PER_WORD;
+
+    private final int size;
+    private final AtomicLongArray words;
+    private final AtomicInteger setBits = new AtomicInteger();
+
+    /**
+     * @param size  the number of bits, all initially clear
+     */
+    public AtomicBitSet(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must not be negative");
+        }
+
+        this.size = size;
+        this.words = new AtomicLongArray((size + BITS_PER_WORD - 1) >> ADDRESS_BITS_PER_WORD);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words.get(index >> ADDRESS_BITS_PER_WORD) & (1L << index)) != 0;
+    }
+
+    /**
+     * @param index     the index of the bit to set
+     * @return          true if the bit was clear
+     */
+    public boolean set(int index) {
+        checkIndex(index);
+        int wordIndex = index >> ADDRESS_BITS_PER_WORD;
+        long mask = 1L << index;
+
+        while (true) {
+            long word = words.get(wordIndex);
+
+            if ((word & mask) != 0) {
+                return false;
+            }
+
+            if (words.compareAndSet(wordIndex, word, word | mask)) {
+                setBits.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param index     the index of the bit to clear
+     * @return          true if the bit was set
+     */
+    public boolean clear(int index) {
+        checkIndex(index);
+        int wordIndex = index >> ADDRESS_BITS_PER_WORD;
+        long mask = 1L << index;
+
+        while (true) {
+            long word = words.get(wordIndex);
+
+            if ((word & mask) == 0) {
+                return false;
+            }
+
+            if (words.compareAndSet(wordIndex, word, word & ~mask)) {
+                setBits.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param index     the index of the bit
+     * @param value     true to set the bit, false to clear it
+     * @return          true if the bit flipped
+     */
+    public boolean set(int index, boolean value) {
+        return value ? set(index) : clear(index);
+    }
+
+    /**
+     * @return  true if no bit is set, it only reads the counter of the set bits
+     */
+    public boolean isEmpty() {
+        return setBits.get() == 0;
+    }
+
+    /**
+     * @return  the number of set bits, counted word by word
+     */
+    public int cardinality() {
+        int cardinality = 0;
+
+        for (int i = 0; i < words.length(); i++) {
+            cardinality += Long.bitCount(words.get(i));
+        }
+
+        return cardinality;
+    }
+
+    /**
+     * The set bits are walked with:
+     * <pre>
+     * for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) { ... }
+     * </pre>
+     *
+     * @param fromIndex     the index to start from, inclusive
+     * @return              the index of the first set bit from fromIndex or -1 if there is none
+     */
+    public int nextSetBit(int fromIndex) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex < 0: " + fromIndex);
+        }
+
+        if (fromIndex >= size) {
+            return -1;
+        }
+
+        int wordIndex = fromIndex >> ADDRESS_BITS_PER_WORD;
+        long word = words.get(wordIndex) & (-1L << fromIndex);
+
+        while (true) {
+            if (word != 0) {
+                int index = (wordIndex << ADDRESS_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+                return index < size ? index : -1;
+            }
+
+            if (++wordIndex == words.length()) {
+                return -1;
+            }
+
+            word = words.get(wordIndex);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+}
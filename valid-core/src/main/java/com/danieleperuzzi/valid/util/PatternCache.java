@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Process-wide cache of compiled {@link Pattern} keyed by regex source and flags.
+ *
+ * <p>Compiling a regex is expensive and constraints that rely on them are usually
+ * evaluated on every keystroke, so it is worth compiling every regex once and then
+ * share the compiled Pattern among all the constraints that declare it.</p>
+ *
+ * <p>The cache is bounded, when it is full the least recently used Pattern is evicted.
+ * It also keeps track of hits, misses and evictions so it is possible to inspect
+ * how effective it is.</p>
+ *
+ * <p>All the methods are thread safe because validation can run on any thread.</p>
+ */
+public class PatternCache {
+
+    public static final int DEFAULT_MAX_SIZE = 64;
+
+    private static final PatternCache instance = new PatternCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    private final Map<Key, Pattern> patternByKeyMap;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * @return  the shared instance used by the library
+     */
+    public static PatternCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * @param maxSize   the maximum number of compiled Pattern held by this cache
+     */
+    public PatternCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+
+        this.maxSize = maxSize;
+
+        // access order gives us the LRU policy for free
+        patternByKeyMap = new LinkedHashMap<Key, Pattern>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Pattern> eldest) {
+                if (size() > PatternCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Same as {@link #getPattern(String, int)} with no flags.
+     *
+     * @param regex     the regex source
+     * @return          the compiled Pattern
+     */
+    public Pattern getPattern(String regex) {
+        return getPattern(regex, 0);
+    }
+
+    /**
+     * Returns the compiled Pattern for the given regex and flags, compiling
+     * and caching it if it is not already present.
+     *
+     * @param regex     the regex source
+     * @param flags     the flags, see {@link Pattern#compile(String, int)}
+     * @return          the compiled Pattern
+     */
+    public synchronized Pattern getPattern(String regex, int flags) {
+        Key key = new Key(regex, flags);
+        Pattern pattern = patternByKeyMap.get(key);
+
+        if (pattern != null) {
+            hitCount++;
+            return pattern;
+        }
+
+        missCount++;
+        pattern = Pattern.compile(regex, flags);
+        patternByKeyMap.put(key, pattern);
+
+        return pattern;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public synchronized int size() {
+        return patternByKeyMap.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Removes all the cached Pattern and resets the counters
+     */
+    public synchronized void clear() {
+        patternByKeyMap.clear();
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * A Pattern depends on both the regex source and the flags
+     * used to compile it.
+     */
+    private static class Key {
+
+        private final String regex;
+        private final int flags;
+
+        private Key(String regex, int flags) {
+            this.regex = regex;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key that = (Key) o;
+            return flags == that.flags &&
+                    regex.equals(that.regex);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * regex.hashCode() + flags;
+        }
+    }
+}
@@ -0,0 +1,479 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map implemented as a hash array mapped trie: {@link #plus(Object, Object)} and
+ * {@link #minus(Object)} return a new map that shares with this one every node but the
+ * ones on the path to the changed key, so they cost O(log32 n) instead of a full copy.
+ *
+ * <p>Instances never change so they can be handed to other threads, retained and compared
+ * by reference without any defensive copy. The mutating methods of {@link Map} throw
+ * {@link UnsupportedOperationException}.</p>
+ *
+ * <p>Null keys and null values are not allowed.</p>
+ *
+ * @param <K>   the type of the keys
+ * @param <V>   the type of the values
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int LEVEL_MASK = (1 << BITS_PER_LEVEL) - 1;
+
+    /**
+     * Seven levels of bitmap nodes consume the 32 bits of the hash, then a collision node
+     */
+    private static final int MAX_DEPTH = 8;
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private Set<Map.Entry<K, V>> entrySet;
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @param map   the map to copy
+     * @return      a persistent map with the same entries
+     */
+    public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+        if (map instanceof PersistentHashMap) {
+            @SuppressWarnings("unchecked")
+            PersistentHashMap<K, V> persistentMap = (PersistentHashMap<K, V>) map;
+            return persistentMap;
+        }
+
+        PersistentHashMap<K, V> persistentMap = empty();
+
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            persistentMap = persistentMap.plus(entry.getKey(), entry.getValue());
+        }
+
+        return persistentMap;
+    }
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @param key       the key
+     * @param value     the value to associate to the key
+     * @return          a map with the given mapping, this map if it already holds it
+     */
+    public PersistentHashMap<K, V> plus(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("null keys and values are not allowed");
+        }
+
+        boolean[] added = new boolean[1];
+        Node actualRoot = root != null ? root : BitmapNode.EMPTY;
+        Node newRoot = actualRoot.put(0, key.hashCode(), key, value, added);
+
+        if (newRoot == root) {
+            return this;
+        }
+
+        return new PersistentHashMap<>(newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * @param key   the key to remove
+     * @return      a map without the key, this map if it does not hold it
+     */
+    public PersistentHashMap<K, V> minus(Object key) {
+        if (key == null || root == null) {
+            return this;
+        }
+
+        Node newRoot = root.remove(0, key.hashCode(), key);
+
+        if (newRoot == root) {
+            return this;
+        }
+
+        if (newRoot == null) {
+            return empty();
+        }
+
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null || root == null) {
+            return null;
+        }
+
+        return (V) root.get(0, key.hashCode(), key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new EntryIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        return entrySet;
+    }
+
+    /**
+     * Every node holds its entries as key and value pairs in {@link #array}, a pair
+     * with a null key holds a child node in place of the value.
+     */
+    private abstract static class Node {
+
+        final Object[] array;
+
+        Node(Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object get(int shift, int hash, Object key);
+
+        /**
+         * @return  this node if nothing changed
+         */
+        abstract Node put(int shift, int hash, Object key, Object value, boolean[] added);
+
+        /**
+         * @return  this node if the key is not found, null if the node became empty
+         */
+        abstract Node remove(int shift, int hash, Object key);
+    }
+
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(int bitmap, Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private static int bit(int shift, int hash) {
+            return 1 << ((hash >>> shift) & LEVEL_MASK);
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            int bit = bit(shift, hash);
+
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            int index = index(bit);
+            Object storedKey = array[index];
+            Object storedValue = array[index + 1];
+
+            if (storedKey == null) {
+                return ((Node) storedValue).get(shift + BITS_PER_LEVEL, hash, key);
+            }
+
+            return key.equals(storedKey) ? storedValue : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(shift, hash);
+            int index = index(bit);
+
+            if ((bitmap & bit) == 0) {
+                Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, index);
+                newArray[index] = key;
+                newArray[index + 1] = value;
+                System.arraycopy(array, index, newArray, index + 2, array.length - index);
+
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            Object storedKey = array[index];
+            Object storedValue = array[index + 1];
+
+            if (storedKey == null) {
+                Node child = (Node) storedValue;
+                Node newChild = child.put(shift + BITS_PER_LEVEL, hash, key, value, added);
+                return newChild == child ? this : copyAndSet(index, null, newChild);
+            }
+
+            if (key.equals(storedKey)) {
+                return storedValue == value ? this : copyAndSet(index, storedKey, value);
+            }
+
+            added[0] = true;
+            return copyAndSet(index, null, createNode(shift + BITS_PER_LEVEL, storedKey, storedValue, key, hash, value));
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            int bit = bit(shift, hash);
+
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int index = index(bit);
+            Object storedKey = array[index];
+            Object storedValue = array[index + 1];
+
+            if (storedKey == null) {
+                Node child = (Node) storedValue;
+                Node newChild = child.remove(shift + BITS_PER_LEVEL, hash, key);
+
+                if (newChild == child) {
+                    return this;
+                }
+
+                if (newChild != null) {
+                    return copyAndSet(index, null, newChild);
+                }
+            } else if (!key.equals(storedKey)) {
+                return this;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        private BitmapNode copyAndSet(int index, Object key, Object value) {
+            Object[] newArray = array.clone();
+            newArray[index] = key;
+            newArray[index + 1] = value;
+
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        private static Node createNode(int shift, Object key1, Object value1, Object key2, int hash2, Object value2) {
+            int hash1 = key1.hashCode();
+
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+            }
+
+            boolean[] added = new boolean[1];
+
+            return EMPTY.put(shift, hash1, key1, value1, added)
+                    .put(shift, hash2, key2, value2, added);
+        }
+    }
+
+    /**
+     * Holds the entries whose keys have the very same hash
+     */
+    private static final class CollisionNode extends Node {
+
+        private final int hash;
+
+        CollisionNode(int hash, Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int find(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        Object get(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return null;
+            }
+
+            int index = find(key);
+            return index >= 0 ? array[index + 1] : null;
+        }
+
+        @Override
+        Node put(int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                BitmapNode parent = new BitmapNode(BitmapNode.bit(shift, this.hash), new Object[] {null, this});
+                return parent.put(shift, hash, key, value, added);
+            }
+
+            int index = find(key);
+
+            if (index >= 0) {
+                if (array[index + 1] == value) {
+                    return this;
+                }
+
+                Object[] newArray = array.clone();
+                newArray[index + 1] = value;
+                return new CollisionNode(hash, newArray);
+            }
+
+            Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+
+            added[0] = true;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node remove(int shift, int hash, Object key) {
+            if (hash != this.hash) {
+                return this;
+            }
+
+            int index = find(key);
+
+            if (index < 0) {
+                return this;
+            }
+
+            if (array.length == 2) {
+                return null;
+            }
+
+            Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, index);
+            System.arraycopy(array, index + 2, newArray, index, array.length - index - 2);
+
+            return new CollisionNode(hash, newArray);
+        }
+    }
+
+    /**
+     * Depth first walk of the trie with an explicit stack of node arrays
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+        private final Object[][] arrays = new Object[MAX_DEPTH + 1][];
+        private final int[] positions = new int[MAX_DEPTH + 1];
+        private int depth = -1;
+
+        private Object nextKey;
+        private Object nextValue;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                push(root.array);
+            }
+
+            advance();
+        }
+
+        private void push(Object[] array) {
+            depth++;
+            arrays[depth] = array;
+            positions[depth] = 0;
+        }
+
+        private void advance() {
+            nextKey = null;
+            nextValue = null;
+
+            while (depth >= 0) {
+                Object[] array = arrays[depth];
+                int position = positions[depth];
+
+                if (position >= array.length) {
+                    arrays[depth] = null;
+                    depth--;
+                    continue;
+                }
+
+                positions[depth] = position + 2;
+
+                if (array[position] != null) {
+                    nextKey = array[position];
+                    nextValue = array[position + 1];
+                    return;
+                }
+
+                push(((Node) array[position + 1]).array);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map.Entry<K, V> next() {
+            if (nextKey == null) {
+                throw new NoSuchElementException();
+            }
+
+            Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>((K) nextKey, (V) nextValue);
+            advance();
+
+            return entry;
+        }
+    }
+}
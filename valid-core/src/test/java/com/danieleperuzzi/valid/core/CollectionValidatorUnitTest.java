@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core;
+
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class CollectionValidatorUnitTest {
+
+    private ValidableText first = new ValidableText("first", null);
+    private ValidableText second = new ValidableText("second", null);
+
+    private ValidatorResult notValid = new ValidatorResult(new ConstraintResult(ValidableStatus.NOT_VALID, "error"));
+
+    private Map<Validable<?>, ValidatorResult> results;
+    private ValidableCollectionStatus status;
+
+    @Test
+    public void keepOnlyFirstNotValidResultByDefault() {
+        Map<Validable<?>, ValidatorResult> allResults = new HashMap<>();
+        allResults.put(first, ValidatorResult.VALID);
+        allResults.put(second, notValid);
+
+        collectionValidator(allResults, ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID).validateCollectionFailFast(new HashMap<>(), (results, status) -> {
+            this.results = results;
+            this.status = status;
+        });
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.get(second), equalTo(notValid));
+        assertThat(status, equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+    }
+
+    @Test
+    public void reportAllValidWithoutResultsByDefault() {
+        Map<Validable<?>, ValidatorResult> allResults = new HashMap<>();
+        allResults.put(first, ValidatorResult.VALID);
+        allResults.put(second, ValidatorResult.VALID);
+
+        collectionValidator(allResults, ValidableCollectionStatus.ALL_VALID).validateCollectionFailFast(new HashMap<>(), (results, status) -> {
+            this.results = results;
+            this.status = status;
+        });
+
+        assertThat(results.isEmpty(), equalTo(true));
+        assertThat(status, equalTo(ValidableCollectionStatus.ALL_VALID));
+    }
+
+    /**
+     * @return  a {@link CollectionValidator} that only implements the full validation and
+     *          always posts the given results
+     */
+    private CollectionValidator collectionValidator(Map<Validable<?>, ValidatorResult> allResults, ValidableCollectionStatus allStatus) {
+        return new CollectionValidator() {
+            @Override
+            public void validateCollection(Map<Validable<?>, SortedConstraintSet> constraintSetByValidableMap, Callback callback) {
+                callback.status(allResults, allStatus);
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.collectionvalidator;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.validator.ValidableRegistry;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class BulkValidatorProcessorUnitTest {
+
+    private ResultDispatcher resultDispatcher = mock(ResultDispatcher.class);
+    private AtomicInteger posts = new AtomicInteger();
+
+    private ValidatorResult notValid = new ValidatorResult(new ConstraintResult(ValidableStatus.NOT_VALID, "error"));
+
+    private AtomicInteger invocations = new AtomicInteger();
+    private volatile Map<Validable<?>, ValidatorResult> results;
+    private volatile ValidableCollectionStatus status;
+
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> {
+            posts.incrementAndGet();
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(resultDispatcher).dispatch(ArgumentMatchers.any(Runnable.class));
+    }
+
+    @Test
+    public void invokeCallbackOnceWithConcurrentResults() throws Exception {
+        int threads = 8;
+        int validablesPerThread = 500;
+        List<Validable<?>> validables = new ArrayList<>();
+
+        for (int i = 0; i < threads * validablesPerThread; i++) {
+            validables.add(new ValidableText("abc" + i, null));
+        }
+
+        BulkValidatorProcessor processor = newProcessor(validables);
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            List<Validable<?>> chunk = validables.subList(t * validablesPerThread, (t + 1) * validablesPerThread);
+
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+
+                for (Validable<?> validable : chunk) {
+                    processor.status(validable, validable == validables.get(42) ? notValid : ValidatorResult.VALID);
+                }
+            });
+
+            workers.add(worker);
+            worker.start();
+        }
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(invocations.get(), equalTo(1));
+        assertThat(posts.get(), equalTo(1));
+        assertThat(results.size(), equalTo(validables.size()));
+        assertThat(results.get(validables.get(42)), equalTo(notValid));
+        assertThat(status, equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+    }
+
+    @Test
+    public void invokeCallbackRightAwayOnDispatchThread() {
+        ValidableText first = new ValidableText("first", null);
+        ValidableText second = new ValidableText("second", null);
+        when(resultDispatcher.isDispatchThread()).thenReturn(true);
+
+        BulkValidatorProcessor processor = newProcessor(Arrays.<Validable<?>>asList(first, second));
+
+        processor.status(first, ValidatorResult.VALID);
+        assertThat(invocations.get(), equalTo(0));
+
+        processor.status(second, ValidatorResult.VALID);
+
+        assertThat(invocations.get(), equalTo(1));
+        assertThat(posts.get(), equalTo(0));
+        assertThat(status, equalTo(ValidableCollectionStatus.ALL_VALID));
+    }
+
+    @Test
+    public void ignoreNotRegisteredValidables() {
+        ValidableText first = new ValidableText("first", null);
+        BulkValidatorProcessor processor = newProcessor(Collections.<Validable<?>>singletonList(first));
+
+        processor.status(new ValidableText("first", null), notValid);
+        assertThat(invocations.get(), equalTo(0));
+
+        processor.status(first, ValidatorResult.VALID);
+
+        assertThat(invocations.get(), equalTo(1));
+        assertThat(results.keySet(), contains((Object) first));
+        assertThat(status, equalTo(ValidableCollectionStatus.ALL_VALID));
+    }
+
+    private BulkValidatorProcessor newProcessor(List<Validable<?>> validables) {
+        return new BulkValidatorProcessor(new ValidableRegistry(validables), (results, status) -> {
+            invocations.incrementAndGet();
+            this.results = results;
+            this.status = status;
+        }, resultDispatcher);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.danieleperuzzi.valid.core.collectionvalidator;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.ValidationHandle;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class FailFastBulkValidatorProcessorUnitTest {
+
+    private ResultDispatcher resultDispatcher = mock(ResultDispatcher.class);
+    private AtomicInteger posts = new AtomicInteger();
+
+    private ValidatorResult notValid = new ValidatorResult(new ConstraintResult(ValidableStatus.NOT_VALID, "error"));
+
+    private AtomicInteger invocations = new AtomicInteger();
+    private volatile Map<Validable<?>, ValidatorResult> results;
+    private volatile ValidableCollectionStatus status;
+
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> {
+            posts.incrementAndGet();
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(resultDispatcher).dispatch(ArgumentMatchers.any(Runnable.class));
+    }
+
+    @Test
+    public void completeOnceOnFirstNotValidResult() throws Exception {
+        int threads = 8;
+        ValidableText first = new ValidableText("first", null);
+        ValidableText second = new ValidableText("second", null);
+
+        FailFastBulkValidatorProcessor processor = newProcessor(100);
+        ValidationHandle firstHandle = mock(ValidationHandle.class);
+        ValidationHandle secondHandle = mock(ValidationHandle.class);
+        processor.addValidationHandle(firstHandle);
+        processor.addValidationHandle(secondHandle);
+
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            Validable<?> validable = t % 2 == 0 ? first : second;
+
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+
+                processor.status(validable, notValid);
+            });
+
+            workers.add(worker);
+            worker.start();
+        }
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(invocations.get(), equalTo(1));
+        assertThat(posts.get(), equalTo(1));
+        assertThat(processor.isCompleted(), equalTo(true));
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.values(), contains(notValid));
+        assertThat(status, equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+        verify(firstHandle, times(1)).cancel();
+        verify(secondHandle, times(1)).cancel();
+    }
+
+    @Test
+    public void cancelHandleAddedAfterCompletion() {
+        FailFastBulkValidatorProcessor processor = newProcessor(2);
+        processor.status(new ValidableText("first", null), notValid);
+
+        ValidationHandle lateHandle = mock(ValidationHandle.class);
+        processor.addValidationHandle(lateHandle);
+
+        verify(lateHandle, times(1)).cancel();
+        assertThat(invocations.get(), equalTo(1));
+    }
+
+    @Test
+    public void reportAllValidOnce() {
+        ValidableText first = new ValidableText("first", null);
+        ValidableText second = new ValidableText("second", null);
+        FailFastBulkValidatorProcessor processor = newProcessor(2);
+
+        processor.status(first, ValidatorResult.VALID);
+        assertThat(invocations.get(), equalTo(0));
+
+        processor.status(second, ValidatorResult.VALID);
+        // a late result must not complete the collection again
+        processor.status(second, ValidatorResult.VALID);
+        processor.status(first, notValid);
+
+        assertThat(invocations.get(), equalTo(1));
+        assertThat(posts.get(), equalTo(1));
+        assertThat(results.isEmpty(), equalTo(true));
+        assertThat(status, equalTo(ValidableCollectionStatus.ALL_VALID));
+    }
+
+    @Test
+    public void stopStartingValidationsOnceNotValid() {
+        ValidableText first = new ValidableText("first", null);
+        ValidableText second = new ValidableText("second", null);
+        ValidableText third = new ValidableText("third", null);
+
+        Map<Validable<?>, SortedConstraintSet> collection = new LinkedHashMap<>();
+        collection.put(first, mock(SortedConstraintSet.class));
+        collection.put(second, mock(SortedConstraintSet.class));
+        collection.put(third, mock(SortedConstraintSet.class));
+
+        List<ValidationHandle> handles = new ArrayList<>();
+        Validator validator = mock(Validator.class);
+
+        doAnswer(invocation -> {
+            Validable<?> validable = invocation.getArgument(0);
+            Validator.Callback callback = invocation.getArgument(2);
+            ValidationHandle handle = mock(ValidationHandle.class);
+            handles.add(handle);
+
+            callback.status(validable, validable == second ? notValid : ValidatorResult.VALID);
+            return handle;
+        }).when(validator).validate(ArgumentMatchers.any(Validable.class), ArgumentMatchers.any(SortedConstraintSet.class), ArgumentMatchers.any(Validator.Callback.class));
+
+        new BulkValidator(validator, new BulkValidatorProcessorFactory(resultDispatcher)).validateCollectionFailFast(collection, (results, status) -> {
+            invocations.incrementAndGet();
+            this.results = results;
+            this.status = status;
+        });
+
+        verify(validator, never()).validate(same(third), ArgumentMatchers.any(SortedConstraintSet.class), ArgumentMatchers.any(Validator.Callback.class));
+        assertThat(handles.size(), equalTo(2));
+
+        // the handle of the validation that completed the collection is cancelled as it is registered
+        verify(handles.get(1), times(1)).cancel();
+        assertThat(invocations.get(), equalTo(1));
+        assertThat(results.get(second), equalTo(notValid));
+        assertThat(status, equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+    }
+
+    private FailFastBulkValidatorProcessor newProcessor(int validableInstances) {
+        return new FailFastBulkValidatorProcessor(validableInstances, (results, status) -> {
+            invocations.incrementAndGet();
+            this.results = results;
+            this.status = status;
+        }, resultDispatcher);
+    }
+}
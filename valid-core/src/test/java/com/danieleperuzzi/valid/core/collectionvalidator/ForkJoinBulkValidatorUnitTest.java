@@ -0,0 +1,255 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.collectionvalidator;
+
+import com.danieleperuzzi.valid.core.CollectionValidator;
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.*;
+
+public class ForkJoinBulkValidatorUnitTest {
+
+    private ForkJoinPool pool = new ForkJoinPool(4);
+    private ResultDispatcher resultDispatcher = mock(ResultDispatcher.class);
+    private AtomicInteger posts = new AtomicInteger();
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(new MinLengthTextConstraint(3, 0, "min"))
+            .build();
+
+    private CountDownLatch done = new CountDownLatch(1);
+    private Map<Validable<?>, ValidatorResult> results;
+    private ValidableCollectionStatus status;
+
+    @Before
+    public void setUp() {
+        doAnswer(invocation -> {
+            posts.incrementAndGet();
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(resultDispatcher).dispatch(ArgumentMatchers.any(Runnable.class));
+    }
+
+    @After
+    public void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void validateLargeCollectionWithOnePost() throws InterruptedException {
+        Map<Validable<?>, SortedConstraintSet> collection = new HashMap<>();
+        ValidableText notValid = new ValidableText("ab", null);
+
+        for (int i = 0; i < 10000; i++) {
+            collection.put(new ValidableText("abc" + i, null), constraintSet);
+        }
+
+        collection.put(notValid, constraintSet);
+
+        validate(collection);
+
+        assertThat(posts.get(), equalTo(1));
+        assertThat(results.size(), equalTo(10001));
+        assertThat(results.get(notValid).status, equalTo(ValidableStatus.NOT_VALID));
+        assertThat(status, equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+    }
+
+    @Test
+    public void reportAllValid() throws InterruptedException {
+        Map<Validable<?>, SortedConstraintSet> collection = new HashMap<>();
+        collection.put(new ValidableText("abc", null), constraintSet);
+        collection.put(new ValidableText("abcd", null), constraintSet);
+
+        validate(collection);
+
+        assertThat(results.size(), equalTo(2));
+        assertThat(status, equalTo(ValidableCollectionStatus.ALL_VALID));
+    }
+
+    @Test
+    public void reportFirstFailureInFailFastMode() throws InterruptedException {
+        Map<Validable<?>, SortedConstraintSet> collection = new HashMap<>();
+
+        for (int i = 0; i < 10000; i++) {
+            collection.put(new ValidableText(i % 100 == 0 ? "ab" : "abc", null), constraintSet);
+        }
+
+        new ForkJoinBulkValidator(pool, resultDispatcher).validateCollectionFailFast(collection, (results, status) -> {
+            this.results = results;
+            this.status = status;
+            done.countDown();
+        });
+
+        assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+        assertThat(status, equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.values().iterator().next().status, equalTo(ValidableStatus.NOT_VALID));
+
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS), equalTo(true));
+        assertThat(posts.get(), equalTo(1));
+    }
+
+    @Test
+    public void reportFailureToFailureCallback() throws InterruptedException {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+
+        new ForkJoinBulkValidator(pool, resultDispatcher).validateCollection(throwingCollection(), new CollectionValidator.FailureCallback() {
+            @Override
+            public void failed(Throwable throwable) {
+                error.set(throwable);
+                done.countDown();
+            }
+
+            @Override
+            public void status(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+                ForkJoinBulkValidatorUnitTest.this.status = status;
+                done.countDown();
+            }
+        });
+
+        assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+        assertThat(error.get(), instanceOf(IllegalStateException.class));
+        assertThat(status, nullValue());
+    }
+
+    @Test
+    public void rethrowFailureOnDispatcherThread() throws InterruptedException {
+        ResultDispatcher capturingDispatcher = mock(ResultDispatcher.class);
+        AtomicReference<Runnable> posted = new AtomicReference<>();
+
+        doAnswer(invocation -> {
+            posted.set(invocation.getArgument(0));
+            done.countDown();
+            return null;
+        }).when(capturingDispatcher).dispatch(ArgumentMatchers.any(Runnable.class));
+
+        new ForkJoinBulkValidator(pool, capturingDispatcher).validateCollectionFailFast(throwingCollection(), (results, status) -> this.status = status);
+
+        assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+
+        try {
+            posted.get().run();
+            fail("the failure must be thrown on the dispatcher thread");
+        } catch (IllegalStateException e) {
+            assertThat(status, nullValue());
+        }
+    }
+
+    @Test
+    public void dropFailureAfterFailFastResult() throws InterruptedException {
+        SortedConstraintSet throwingConstraintSet = new SortedConstraintSet.Builder()
+                .addConstraint(new MinLengthTextConstraint(3, 0, "min") {
+                    @Override
+                    protected ConstraintResult evaluate(String text) {
+                        if (text.equals("boom")) {
+                            throw new IllegalStateException(text);
+                        }
+
+                        return super.evaluate(text);
+                    }
+                })
+                .build();
+
+        // a single chunk: the not valid value is found first, then the next one throws
+        Map<Validable<?>, SortedConstraintSet> collection = new LinkedHashMap<>();
+        collection.put(new ValidableText("ab", null), throwingConstraintSet);
+        collection.put(new ValidableText("boom", null), throwingConstraintSet);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicInteger invocations = new AtomicInteger();
+
+        new ForkJoinBulkValidator(pool, resultDispatcher).validateCollectionFailFast(collection, new CollectionValidator.FailureCallback() {
+            @Override
+            public void failed(Throwable throwable) {
+                error.set(throwable);
+                invocations.incrementAndGet();
+            }
+
+            @Override
+            public void status(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+                ForkJoinBulkValidatorUnitTest.this.status = status;
+                invocations.incrementAndGet();
+            }
+        });
+
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS), equalTo(true));
+        assertThat(status, equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+        assertThat(error.get(), nullValue());
+        assertThat(invocations.get(), equalTo(1));
+        assertThat(posts.get(), equalTo(1));
+    }
+
+    private Map<Validable<?>, SortedConstraintSet> throwingCollection() {
+        SortedConstraintSet throwingConstraintSet = new SortedConstraintSet.Builder()
+                .addConstraint(new MinLengthTextConstraint(3, 0, "min") {
+                    @Override
+                    protected ConstraintResult evaluate(String text) {
+                        if (text.equals("boom")) {
+                            throw new IllegalStateException(text);
+                        }
+
+                        return super.evaluate(text);
+                    }
+                })
+                .build();
+
+        Map<Validable<?>, SortedConstraintSet> collection = new HashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            collection.put(new ValidableText(i == 500 ? "boom" : "abc", null), throwingConstraintSet);
+        }
+
+        return collection;
+    }
+
+    private void validate(Map<Validable<?>, SortedConstraintSet> collection) throws InterruptedException {
+        new ForkJoinBulkValidator(pool, resultDispatcher).validateCollection(collection, (results, status) -> {
+            this.results = results;
+            this.status = status;
+            done.countDown();
+        });
+
+        assertThat(done.await(10, TimeUnit.SECONDS), equalTo(true));
+    }
+}
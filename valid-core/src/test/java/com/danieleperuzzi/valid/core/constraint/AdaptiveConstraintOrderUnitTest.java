@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.constraint;
+
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.dispatcher.DirectResultDispatcher;
+import com.danieleperuzzi.valid.core.validator.AdaptiveValidatorAlgorithmFactory;
+import com.danieleperuzzi.valid.core.validator.BaseValidator;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.mock.ConstraintMock;
+import com.danieleperuzzi.valid.text.MandatoryTextConstraint;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AdaptiveConstraintOrderUnitTest {
+
+    private ConstraintMock<String, String> firstConstraint = new ConstraintMock<>("first", 0, "");
+    private ConstraintMock<String, String> slowConstraint = new ConstraintMock<>("slow", 1, "");
+    private ConstraintMock<String, String> fastConstraint = new ConstraintMock<>("fast", 1, "");
+    private ConstraintMock<String, String> lastConstraint = new ConstraintMock<>("last", 2, "");
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(firstConstraint)
+            .addConstraint(slowConstraint)
+            .addConstraint(fastConstraint)
+            .addConstraint(lastConstraint)
+            .build();
+
+    @Test
+    public void profileOnlyConstraintsWithSamePriority() {
+        AdaptiveConstraintOrder constraintOrder = new AdaptiveConstraintOrder(constraintSet);
+
+        assertThat(constraintOrder.isProfiled(0), equalTo(false));
+        assertThat(constraintOrder.isProfiled(1), equalTo(true));
+        assertThat(constraintOrder.isProfiled(2), equalTo(true));
+        assertThat(constraintOrder.isProfiled(3), equalTo(false));
+        assertThat(constraintOrder.getOrderedConstraints(), contains((Constraint<?, ?>) firstConstraint, slowConstraint, fastConstraint, lastConstraint));
+    }
+
+    @Test
+    public void moveCheapFailingConstraintsFirstInsideTheirGroup() {
+        AdaptiveConstraintOrder constraintOrder = new AdaptiveConstraintOrder(constraintSet);
+        int slow = constraintSet.getConstraint(1) == slowConstraint ? 1 : 2;
+        int fast = 3 - slow;
+
+        for (int i = 0; i < AdaptiveConstraintOrder.REORDER_INTERVAL; i++) {
+            constraintOrder.recordEvaluation(slow, 1000, false);
+            constraintOrder.recordEvaluation(fast, 10, i % 2 == 0);
+            constraintOrder.validationCompleted();
+        }
+
+        assertThat(constraintOrder.getOrderedConstraints(), contains((Constraint<?, ?>) firstConstraint, fastConstraint, slowConstraint, lastConstraint));
+    }
+
+    @Test
+    public void keepOrderUntilEnoughValidations() {
+        AdaptiveConstraintOrder constraintOrder = new AdaptiveConstraintOrder(constraintSet);
+        int[] order = constraintOrder.getOrder();
+
+        for (int i = 0; i < AdaptiveConstraintOrder.REORDER_INTERVAL - 1; i++) {
+            constraintOrder.recordEvaluation(1, 1000, false);
+            constraintOrder.recordEvaluation(2, 1000, false);
+            constraintOrder.validationCompleted();
+        }
+
+        assertThat(constraintOrder.getOrder(), sameInstance(order));
+    }
+
+    @Test
+    public void neverMoveConstraintsPastOneThatStopsValidation() {
+        MandatoryTextConstraint notMandatory = new MandatoryTextConstraint(false, 1, "mandatory");
+        MinLengthTextConstraint minLength = new MinLengthTextConstraint(3, 1, "min");
+        SortedConstraintSet optionalTextSet = new SortedConstraintSet.Builder()
+                .addConstraint(notMandatory)
+                .addConstraint(minLength)
+                .build();
+
+        AdaptiveConstraintOrder constraintOrder = new AdaptiveConstraintOrder(optionalTextSet);
+
+        assertThat(constraintOrder.isProfiled(0), equalTo(false));
+        assertThat(constraintOrder.isProfiled(1), equalTo(false));
+
+        BaseValidator validator = new BaseValidator(Runnable::run, new AdaptiveValidatorAlgorithmFactory(), new DirectResultDispatcher());
+        AtomicReference<ValidatorResult> result = new AtomicReference<>();
+        ValidableText validable = new ValidableText("", null);
+
+        validator.validate(validable, optionalTextSet, (value, validatorResult) -> result.set(validatorResult));
+        assertThat(result.get().status, equalTo(ValidableStatus.VALID));
+
+        // short texts make the length constraint cheap and failing, the best to move first
+        validable.setValue("ab", null);
+
+        for (int i = 0; i < AdaptiveConstraintOrder.REORDER_INTERVAL * 4; i++) {
+            validator.validate(validable, optionalTextSet, (value, validatorResult) -> result.set(validatorResult));
+        }
+
+        validable.setValue("", null);
+        validator.validate(validable, optionalTextSet, (value, validatorResult) -> result.set(validatorResult));
+
+        assertThat(result.get().status, equalTo(ValidableStatus.VALID));
+    }
+}
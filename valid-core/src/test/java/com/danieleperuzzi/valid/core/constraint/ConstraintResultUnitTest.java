@@ -44,4 +44,10 @@ public class ConstraintResultUnitTest {
         assertThat(fourthResult.status, equalTo(ValidableStatus.NOT_VALID));
         assertThat(fourthResult.constraintError, equalTo("This error should be there"));
     }
+
+    @Test
+    public void checkSharedValidResult() {
+        assertThat(ConstraintResult.VALID.status, equalTo(ValidableStatus.VALID));
+        assertThat(ConstraintResult.VALID.constraintError, equalTo(null));
+    }
 }
@@ -17,6 +17,7 @@
 package com.danieleperuzzi.valid.core.constraint;
 
 import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableStatus;
 import com.danieleperuzzi.valid.mock.ConstraintMock;
 import com.danieleperuzzi.valid.mock.ConstraintMockSubclass;
 
@@ -90,6 +91,31 @@ public class ConstraintUnitTest {
         }
     }
 
+    @Test
+    public void passWrongValidableToTypedConstraint() {
+        ConstraintMock<String, String> typedConstraint = new ConstraintMock<>(String.class, "", 0, "");
+
+        assertThat(typedConstraint.canEvaluate("value"), is(true));
+        assertThat(typedConstraint.canEvaluate(null), is(true));
+        assertThat(typedConstraint.canEvaluate(0), is(false));
+
+        try {
+            typedConstraint.evaluate(wrongValidable);
+            throw new AssertionError("a ClassCastException should be thrown");
+        } catch (ClassCastException e) {
+            assertThat(e.getMessage(), equalTo("This Constraint cannot valid a Integer Object"));
+        }
+    }
+
+    @Test
+    public void checkNotValidResult() {
+        ConstraintMock<String, String> constraint = new ConstraintMock<>("", 0, "error");
+
+        assertThat(constraint.getNotValidResult().status, equalTo(ValidableStatus.NOT_VALID));
+        assertThat(constraint.getNotValidResult().constraintError, equalTo("error"));
+        assertThat(constraint.getNotValidResult(), sameInstance(constraint.getNotValidResult()));
+    }
+
     @Test
     public void checkEquals() {
         assertThat(firstConstraint.equals(firstConstraint), is(true));
@@ -16,9 +16,11 @@
 
 package com.danieleperuzzi.valid.core.constraint;
 
+import com.danieleperuzzi.valid.core.Validable;
 import com.danieleperuzzi.valid.mock.ConstraintMock;
 import com.danieleperuzzi.valid.mock.ConstraintMockSubclass;
 
+import static org.mockito.Mockito.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
@@ -124,4 +126,90 @@ public class SortedConstraintSetUnitTest {
         assertThat(constraintSet.getConstraints(), contains(fifthConstraint, firstConstraint, samePriorityOfFirstConstraint,
                 firstConstraintSubclass, secondConstraint, fourthConstraint));
     }
+
+    @Test
+    public void accessConstraintsByIndex() {
+        SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+                .addConstraint(secondConstraint)
+                .addConstraint(thirdConstraint)
+                .addConstraint(firstConstraint)
+                .build();
+
+        assertThat(constraintSet.size(), equalTo(3));
+        assertThat(constraintSet.getConstraint(0), sameInstance(firstConstraint));
+        assertThat(constraintSet.getConstraint(1), sameInstance(secondConstraint));
+        assertThat(constraintSet.getConstraint(2), sameInstance(thirdConstraint));
+    }
+
+    @Test
+    public void buildImmutableSets() {
+        SortedConstraintSet.Builder builder = new SortedConstraintSet.Builder()
+                .addConstraint(firstConstraint);
+
+        SortedConstraintSet firstSet = builder.build();
+        SortedConstraintSet secondSet = builder.addConstraint(secondConstraint).build();
+
+        assertThat(firstSet.size(), equalTo(1));
+        assertThat(secondSet.size(), equalTo(2));
+        assertThat(firstSet, not(equalTo(secondSet)));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cannotModifyConstraints() {
+        SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+                .addConstraint(firstConstraint)
+                .build();
+
+        constraintSet.getConstraints().add(secondConstraint);
+    }
+
+    @Test
+    public void checkEquals() {
+        SortedConstraintSet firstSet = new SortedConstraintSet.Builder()
+                .addConstraint(secondConstraint)
+                .addConstraint(firstConstraint)
+                .build();
+
+        SortedConstraintSet secondSet = new SortedConstraintSet.Builder()
+                .addConstraint(firstConstraintClone)
+                .addConstraint(secondConstraint)
+                .build();
+
+        assertThat(firstSet, equalTo(secondSet));
+        assertThat(firstSet.hashCode(), equalTo(secondSet.hashCode()));
+    }
+
+    @Test
+    public void bindToCompatibleValidable() {
+        @SuppressWarnings("unchecked")
+        Validable<String> validable = mock(Validable.class);
+        when(validable.getValue()).thenReturn("value");
+
+        SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+                .addConstraint(new ConstraintMock<>(String.class, "", 0, ""))
+                .addConstraint(new ConstraintMock<>(CharSequence.class, "", 1, ""))
+                .addConstraint(secondConstraint)
+                .build();
+
+        constraintSet.bind(validable);
+        constraintSet.bind(validable);
+
+        when(validable.getValue()).thenReturn(null);
+
+        constraintSet.bind(validable);
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void bindToIncompatibleValidable() {
+        @SuppressWarnings("unchecked")
+        Validable<Integer> validable = mock(Validable.class);
+        when(validable.getValue()).thenReturn(0);
+
+        SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+                .addConstraint(firstConstraint)
+                .addConstraint(new ConstraintMock<>(String.class, "", 1, ""))
+                .build();
+
+        constraintSet.bind(validable);
+    }
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.ValidationHandle;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.dispatcher.DirectResultDispatcher;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+public class BaseValidatorUnitTest {
+
+    private QueueExecutor executor = new QueueExecutor();
+    private FakeResultDispatcher resultDispatcher = new FakeResultDispatcher();
+    private BaseValidator validator = new BaseValidator(executor, new ValidatorAlgorithmFactory(), resultDispatcher);
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(new MinLengthTextConstraint(3, 0, "min"))
+            .build();
+
+    private ValidableText validable = new ValidableText("ab", null);
+    private List<ValidatorResult> results = new ArrayList<>();
+    private Validator.Callback callback = (value, result) -> results.add(result);
+
+    @Test
+    public void replaceWaitingValidation() {
+        validator.enableCoalescing(0);
+
+        ValidationHandle first = validator.validate(validable, constraintSet, callback);
+        validable.setValue("abc", null);
+        ValidationHandle second = validator.validate(validable, constraintSet, callback);
+
+        assertThat(executor.tasks.size(), equalTo(1));
+        assertThat(first.isCancelled(), equalTo(true));
+        assertThat(second.isCancelled(), equalTo(false));
+
+        executor.runAll();
+
+        assertThat(results, contains(ValidatorResult.VALID));
+        assertThat(validator.getMetrics().getValidationCount(), equalTo(1L));
+        assertThat(validator.getMetrics().getDiscardedValidationCount(), equalTo(1L));
+    }
+
+    @Test
+    public void discardResultSupersededWhileRunning() {
+        SortedConstraintSet revalidatingConstraintSet = new SortedConstraintSet.Builder()
+                .addConstraint(new MinLengthTextConstraint(3, 0, "min") {
+                    private boolean revalidated;
+
+                    @Override
+                    protected ConstraintResult evaluate(String text) {
+                        if (!revalidated) {
+                            revalidated = true;
+                            validable.setValue("abc", null);
+                            validator.validate(validable, constraintSet, callback);
+                        }
+
+                        return super.evaluate(text);
+                    }
+                })
+                .build();
+
+        validator.enableCoalescing(0);
+        validator.validate(validable, revalidatingConstraintSet, callback);
+
+        executor.runAll();
+
+        assertThat(results, contains(ValidatorResult.VALID));
+        assertThat(validator.getMetrics().getDiscardedValidationCount(), equalTo(1L));
+    }
+
+    @Test
+    public void restartDebounceOnEveryValidation() {
+        validator.enableCoalescing(300);
+
+        validator.validate(validable, constraintSet, callback);
+        validator.validate(validable, constraintSet, callback);
+        validator.validate(validable, constraintSet, callback);
+
+        assertThat(executor.tasks.size(), equalTo(0));
+        assertThat(resultDispatcher.delayedTasks.size(), equalTo(1));
+        assertThat(resultDispatcher.cancelCount, equalTo(3));
+        assertThat(resultDispatcher.lastDelayMillis, equalTo(300L));
+
+        resultDispatcher.runDelayed();
+        executor.runAll();
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.get(0).status, equalTo(ValidableStatus.NOT_VALID));
+        assertThat(validator.getMetrics().getDiscardedValidationCount(), equalTo(2L));
+    }
+
+    @Test
+    public void runEveryValidationOnceCoalescingIsDisabled() {
+        validator.enableCoalescing(0);
+        validator.validate(validable, constraintSet, callback);
+        validator.disableCoalescing();
+
+        validator.validate(validable, constraintSet, callback);
+        validator.validate(validable, constraintSet, callback);
+
+        assertThat(executor.tasks.size(), equalTo(3));
+
+        executor.runAll();
+
+        assertThat(results.size(), equalTo(3));
+        assertThat(validator.getMetrics().getDiscardedValidationCount(), equalTo(0L));
+    }
+
+    @Test
+    public void runEveryValidationByDefault() {
+        validator.validate(validable, constraintSet, callback);
+        validator.validate(validable, constraintSet, callback);
+
+        executor.runAll();
+
+        assertThat(results.size(), equalTo(2));
+        assertThat(validator.getMetrics().getDiscardedValidationCount(), equalTo(0L));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rejectDebounceWhenDispatcherCannotDelay() {
+        new BaseValidator(executor, new ValidatorAlgorithmFactory(), new DirectResultDispatcher()).enableCoalescing(300);
+    }
+
+    @Test
+    public void forgetValidationThatCouldNotBeScheduled() {
+        validator.enableCoalescing(300);
+        resultDispatcher.failDelayed = true;
+
+        try {
+            validator.validate(validable, constraintSet, callback);
+            fail("the scheduling failure must be thrown");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), equalTo("not scheduled"));
+        }
+
+        validator.disableCoalescing();
+        validator.validate(validable, constraintSet, callback);
+        executor.runAll();
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(validator.getMetrics().getDiscardedValidationCount(), equalTo(0L));
+    }
+
+    /**
+     * Runs the tasks only when asked, on the test thread
+     */
+    private static class QueueExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            Runnable task;
+
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * Delivers right away on the test thread and keeps the delayed tasks until asked
+     */
+    private static class FakeResultDispatcher implements ResultDispatcher {
+
+        private final List<Runnable> delayedTasks = new ArrayList<>();
+        private int cancelCount;
+        private long lastDelayMillis;
+        private boolean failDelayed;
+
+        @Override
+        public boolean isDispatchThread() {
+            return true;
+        }
+
+        @Override
+        public void dispatch(Runnable task) {
+            task.run();
+        }
+
+        @Override
+        public void dispatchDelayed(Runnable task, long delayMillis) {
+            if (failDelayed) {
+                throw new IllegalStateException("not scheduled");
+            }
+
+            delayedTasks.add(task);
+            lastDelayMillis = delayMillis;
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            delayedTasks.remove(task);
+            cancelCount++;
+        }
+
+        void runDelayed() {
+            List<Runnable> tasks = new ArrayList<>(delayedTasks);
+            delayedTasks.clear();
+
+            for (Runnable task : tasks) {
+                task.run();
+            }
+        }
+    }
+}
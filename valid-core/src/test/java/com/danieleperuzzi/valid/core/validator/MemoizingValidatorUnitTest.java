@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import com.danieleperuzzi.valid.core.ResultDispatcher;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidationHandle;
+import com.danieleperuzzi.valid.core.Validator;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.Mockito.*;
+
+public class MemoizingValidatorUnitTest {
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(new MinLengthTextConstraint(3, 0, "min"))
+            .build();
+
+    private CountingValidator countingValidator = new CountingValidator();
+    private List<ValidatorResult> results = new ArrayList<>();
+
+    @Test
+    public void reuseResultOfUnchangedValue() {
+        MemoizingValidator validator = new MemoizingValidator(countingValidator);
+        ValidableText text = new ValidableText("abc", null);
+
+        validator.validate(text, constraintSet, (value, result) -> results.add(result));
+        validator.validate(text, constraintSet, (value, result) -> results.add(result));
+
+        assertThat(countingValidator.validations, equalTo(1));
+        assertThat(results.size(), equalTo(2));
+        assertThat(results.get(1), sameInstance(results.get(0)));
+        assertThat(validator.getHitCount(), equalTo(1L));
+        assertThat(validator.getMissCount(), equalTo(1L));
+    }
+
+    @Test
+    public void invalidateOnSetValue() {
+        MemoizingValidator validator = new MemoizingValidator(countingValidator);
+        ValidableText text = new ValidableText("abc", null);
+
+        validator.validate(text, constraintSet, (value, result) -> results.add(result));
+        text.setValue("abc", null);
+        validator.validate(text, constraintSet, (value, result) -> results.add(result));
+
+        assertThat(countingValidator.validations, equalTo(2));
+    }
+
+    @Test
+    public void compareValuesOfNotVersionedValidable() {
+        MemoizingValidator validator = new MemoizingValidator(countingValidator);
+        SimpleValidable validable = new SimpleValidable("abc");
+
+        validator.validate(validable, constraintSet, (value, result) -> results.add(result));
+        validator.validate(validable, constraintSet, (value, result) -> results.add(result));
+        validable.setValue("abcd", null);
+        validator.validate(validable, constraintSet, (value, result) -> results.add(result));
+
+        assertThat(countingValidator.validations, equalTo(2));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsedResult() {
+        MemoizingValidator validator = new MemoizingValidator(countingValidator, 1);
+        ValidableText first = new ValidableText("abc", null);
+        ValidableText second = new ValidableText("abc", null);
+
+        validator.validate(first, constraintSet, (value, result) -> results.add(result));
+        validator.validate(second, constraintSet, (value, result) -> results.add(result));
+        validator.validate(first, constraintSet, (value, result) -> results.add(result));
+
+        assertThat(countingValidator.validations, equalTo(3));
+        assertThat(validator.getEvictionCount(), equalTo(2L));
+        assertThat(validator.size(), equalTo(1));
+    }
+
+    @Test
+    public void postRememberedResultToDispatcherThread() {
+        ResultDispatcher resultDispatcher = mock(ResultDispatcher.class);
+        ArgumentCaptor<Runnable> posted = ArgumentCaptor.forClass(Runnable.class);
+        MemoizingValidator validator = new MemoizingValidator(countingValidator, MemoizingValidator.DEFAULT_MAX_SIZE, resultDispatcher);
+        ValidableText text = new ValidableText("abc", null);
+
+        validator.validate(text, constraintSet, (value, result) -> results.add(result));
+        ValidationHandle cancelled = validator.validate(text, constraintSet, (value, result) -> results.add(result));
+        cancelled.cancel();
+        validator.validate(text, constraintSet, (value, result) -> results.add(result));
+
+        verify(resultDispatcher, times(2)).dispatch(posted.capture());
+        assertThat(results.size(), equalTo(1));
+
+        for (Runnable delivery : posted.getAllValues()) {
+            delivery.run();
+        }
+
+        assertThat(results.size(), equalTo(2));
+        assertThat(countingValidator.validations, equalTo(1));
+    }
+
+    private static class CountingValidator implements Validator {
+
+        private int validations = 0;
+        private ValidationHandle handle = mock(ValidationHandle.class);
+
+        @Override
+        public ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, Callback callback) {
+            return validate(value, constraint, null, callback);
+        }
+
+        @Override
+        public ValidationHandle validate(Validable<?> value, Constraint<?, ?> constraint, ValidatorObserver observer, Callback callback) {
+            validations++;
+            callback.status(value, ValidatorResult.VALID);
+            return handle;
+        }
+
+        @Override
+        public ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, Callback callback) {
+            return validate(value, constraintSet, null, callback);
+        }
+
+        @Override
+        public ValidationHandle validate(Validable<?> value, SortedConstraintSet constraintSet, ValidatorObserver observer, Callback callback) {
+            validations++;
+            callback.status(value, ValidatorResult.VALID);
+            return handle;
+        }
+    }
+
+    private static class SimpleValidable implements Validable<String> {
+
+        private String value;
+
+        SimpleValidable(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public String getTag() {
+            return null;
+        }
+
+        @Override
+        public void setValue(String value, String tag) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import com.danieleperuzzi.valid.core.CollectionValidator;
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableCollectionStatus;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+
+public class ValidatorObserverUnitTest {
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(new MinLengthTextConstraint(3, 0, "min"))
+            .build();
+
+    private ValidatorResult notValid = new ValidatorResult(new ConstraintResult(ValidableStatus.NOT_VALID, "min"));
+
+    @Test
+    public void keepStatusConsistentWithResultsUnderConcurrentNotify() throws Exception {
+        int threads = 8;
+        int iterations = 20000;
+
+        List<Validable<?>> validables = new ArrayList<>();
+        Map<Validable<?>, SortedConstraintSet> collection = new HashMap<>();
+
+        for (int i = 0; i < threads; i++) {
+            ValidableText validable = new ValidableText("abc" + i, null);
+            validables.add(validable);
+            collection.put(validable, constraintSet);
+        }
+
+        ValidatorObserver observer = new ValidatorObserver(collection, (results, status) -> {});
+        assertThat(observer.getStatus(), equalTo(ValidableCollectionStatus.ALL_VALID));
+
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+
+        for (Validable<?> validable : validables) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+
+                for (int i = 0; i < iterations; i++) {
+                    observer.notify(validable, i % 2 == 0 ? notValid : ValidatorResult.VALID);
+                }
+            });
+
+            workers.add(worker);
+            worker.start();
+        }
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertThat(observer.isAllValid(), equalTo(true));
+        assertThat(observer.getStatus(), equalTo(ValidableCollectionStatus.ALL_VALID));
+
+        observer.notify(validables.get(0), notValid);
+
+        assertThat(observer.getStatus(), equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+        assertThat(observer.getNotValidValidables(), contains((Object) validables.get(0)));
+    }
+
+    @Test
+    public void skipDeltaCallbackWhenResultDoesNotChange() {
+        ValidableText first = new ValidableText("abc", null);
+        ValidableText second = new ValidableText("abcd", null);
+        List<Map<Validable<?>, ValidatorResult>> changes = new ArrayList<>();
+        List<ValidableCollectionStatus> statuses = new ArrayList<>();
+
+        ValidatorObserver observer = new ValidatorObserver(collectionOf(first, second), deltaCallback(changes, statuses));
+
+        observer.notify(first, ValidatorResult.VALID);
+
+        assertThat(changes.isEmpty(), equalTo(true));
+
+        observer.notify(first, notValid);
+
+        assertThat(changes.size(), equalTo(1));
+        assertThat(changes.get(0).size(), equalTo(1));
+        assertThat(changes.get(0).get(first), equalTo(notValid));
+        assertThat(statuses.get(0), equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+        assertThat(observer.getResults().get(second), equalTo(ValidatorResult.VALID));
+    }
+
+    @Test
+    public void deliverDeltaWithPendingStatus() {
+        ValidableText first = new ValidableText("abc", null);
+        ValidableText second = new ValidableText("abcd", null);
+        List<Map<Validable<?>, ValidatorResult>> changes = new ArrayList<>();
+        List<ValidableCollectionStatus> statuses = new ArrayList<>();
+        AtomicReference<CollectionValidator.Callback> initialStatusCallback = new AtomicReference<>();
+
+        ValidatorObserver observer = new ValidatorObserver(collectionOf(first, second), deltaCallback(changes, statuses),
+                (constraintSetByValidableMap, callback) -> initialStatusCallback.set(callback), null);
+
+        observer.notify(first, notValid);
+        observer.notify(first, notValid);
+
+        assertThat(changes.size(), equalTo(1));
+        assertThat(changes.get(0).keySet(), contains((Object) first));
+        assertThat(statuses.get(0), equalTo(ValidableCollectionStatus.PENDING));
+
+        Map<Validable<?>, ValidatorResult> initialResults = new HashMap<>();
+        initialResults.put(first, ValidatorResult.VALID);
+        initialResults.put(second, ValidatorResult.VALID);
+        initialStatusCallback.get().status(initialResults, ValidableCollectionStatus.ALL_VALID);
+
+        // the result notified while pending is newer than the initial one
+        assertThat(observer.getResults().get(first), equalTo(notValid));
+        assertThat(observer.getStatus(), equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+
+        observer.notify(first, ValidatorResult.VALID);
+
+        assertThat(changes.size(), equalTo(2));
+        assertThat(changes.get(1).get(first), equalTo(ValidatorResult.VALID));
+        assertThat(statuses.get(1), equalTo(ValidableCollectionStatus.ALL_VALID));
+    }
+
+    @Test
+    public void leavePendingWhenInitialStatusFails() {
+        ValidableText first = new ValidableText("abc", null);
+        ValidableText second = new ValidableText("abcd", null);
+        Map<Validable<?>, SortedConstraintSet> collection = new HashMap<>();
+        collection.put(first, constraintSet);
+        collection.put(second, constraintSet);
+
+        AtomicReference<CollectionValidator.Callback> initialStatusCallback = new AtomicReference<>();
+        AtomicReference<ValidableCollectionStatus> readyStatus = new AtomicReference<>();
+
+        ValidatorObserver observer = new ValidatorObserver(collection, (results, status) -> {},
+                (constraintSetByValidableMap, callback) -> initialStatusCallback.set(callback),
+                (results, status) -> readyStatus.set(status));
+
+        observer.notify(first, ValidatorResult.VALID);
+        assertThat(observer.getStatus(), equalTo(ValidableCollectionStatus.PENDING));
+
+        try {
+            ((CollectionValidator.FailureCallback) initialStatusCallback.get()).failed(new IllegalStateException("failed"));
+            fail("the failure must be thrown again");
+        } catch (IllegalStateException e) {
+            assertThat(e.getMessage(), equalTo("failed"));
+        }
+
+        assertThat(readyStatus.get(), equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+        assertThat(observer.getStatus(), equalTo(ValidableCollectionStatus.AT_LEAST_ONE_NOT_VALID));
+        assertThat(observer.getNotValidValidables(), contains((Object) second));
+
+        observer.notify(second, ValidatorResult.VALID);
+
+        assertThat(observer.getStatus(), equalTo(ValidableCollectionStatus.ALL_VALID));
+    }
+
+    private Map<Validable<?>, SortedConstraintSet> collectionOf(Validable<?>... validables) {
+        Map<Validable<?>, SortedConstraintSet> collection = new HashMap<>();
+
+        for (Validable<?> validable : validables) {
+            collection.put(validable, constraintSet);
+        }
+
+        return collection;
+    }
+
+    private CollectionValidator.DeltaCallback deltaCallback(List<Map<Validable<?>, ValidatorResult>> changes, List<ValidableCollectionStatus> statuses) {
+        return new CollectionValidator.DeltaCallback() {
+            @Override
+            public void changed(Map<Validable<?>, ValidatorResult> changedResultByValidableMap, ValidableCollectionStatus status) {
+                changes.add(changedResultByValidableMap);
+                statuses.add(status);
+            }
+
+            @Override
+            public void status(Map<Validable<?>, ValidatorResult> validatorResultByValidableMap, ValidableCollectionStatus status) {
+                fail("the observer must only report the changes");
+            }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator;
+
+import com.danieleperuzzi.valid.core.Validable;
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ValidatorResultTableUnitTest {
+
+    private ValidableText first = new ValidableText("first", null);
+    private ValidableText second = new ValidableText("second", null);
+    private ValidableText third = new ValidableText("third", null);
+
+    private ValidatorResult notValid = new ValidatorResult(new ConstraintResult(ValidableStatus.NOT_VALID, "error"));
+
+    @Test
+    public void assignDenseIdsOncePerValidable() {
+        ValidableRegistry registry = new ValidableRegistry(Arrays.<Validable<?>>asList(first, second, first, third));
+
+        assertThat(registry.size(), equalTo(3));
+        assertThat(registry.getId(first), equalTo(0));
+        assertThat(registry.getId(second), equalTo(1));
+        assertThat(registry.getId(third), equalTo(2));
+        assertThat(registry.getValidable(2), sameInstance((Validable<?>) third));
+        assertThat(registry.getId(new ValidableText("first", null)), equalTo(ValidableRegistry.NOT_REGISTERED));
+    }
+
+    @Test
+    public void storeAndRebuildResults() {
+        ValidatorResultTable table = new ValidatorResultTable(new ValidableRegistry(Arrays.<Validable<?>>asList(first, second)));
+
+        table.set(0, ValidatorResult.VALID);
+        table.set(1, notValid);
+
+        assertThat(table.get(0), sameInstance(ValidatorResult.VALID));
+        assertThat(table.get(1), equalTo(notValid));
+        assertThat(table.getStatus(1), equalTo(ValidableStatus.NOT_VALID));
+    }
+
+    @Test
+    public void replaceOnlyExistingResults() {
+        ValidatorResultTable table = new ValidatorResultTable(new ValidableRegistry(Arrays.<Validable<?>>asList(first, second)));
+
+        assertThat(table.replace(0, notValid), nullValue());
+        assertThat(table.get(0), nullValue());
+
+        assertThat(table.setIfAbsent(0, ValidatorResult.VALID), equalTo(true));
+        assertThat(table.setIfAbsent(0, notValid), equalTo(false));
+        assertThat(table.replace(0, notValid), sameInstance(ValidatorResult.VALID));
+        assertThat(table.get(0), equalTo(notValid));
+    }
+
+    @Test
+    public void mapViewSkipsEmptySlots() {
+        ValidatorResultTable table = new ValidatorResultTable(new ValidableRegistry(Arrays.<Validable<?>>asList(first, second, third)));
+        Map<Validable<?>, ValidatorResult> map = table.asMap();
+
+        table.set(1, notValid);
+
+        assertThat(map.size(), equalTo(1));
+        assertThat(map.get(second), equalTo(notValid));
+        assertThat(map.get(first), nullValue());
+        assertThat(map.containsKey(third), equalTo(false));
+        assertThat(map.keySet(), contains((Validable<?>) second));
+
+        table.set(0, ValidatorResult.VALID);
+
+        assertThat(map.size(), equalTo(2));
+        assertThat(map.keySet(), contains((Validable<?>) first, second));
+    }
+
+    @Test
+    public void trackNotValidSlots() {
+        ValidatorResultTable table = new ValidatorResultTable(new ValidableRegistry(Arrays.<Validable<?>>asList(first, second, third)));
+
+        assertThat(table.isAllValid(), equalTo(false));
+        assertThat(table.getNotValidCount(), equalTo(3));
+
+        table.set(0, ValidatorResult.VALID);
+        table.set(1, notValid);
+        table.set(2, ValidatorResult.VALID);
+
+        assertThat(table.getNotValidCount(), equalTo(1));
+        assertThat(table.nextNotValid(0), equalTo(1));
+        assertThat(table.nextNotValid(2), equalTo(-1));
+
+        table.replace(1, ValidatorResult.VALID);
+
+        assertThat(table.isAllValid(), equalTo(true));
+    }
+}
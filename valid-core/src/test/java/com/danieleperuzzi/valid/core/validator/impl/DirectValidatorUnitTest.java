@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator.impl;
+
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.dispatcher.ExecutorResultDispatcher;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmFactory;
+import com.danieleperuzzi.valid.core.validator.ValidatorResult;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class DirectValidatorUnitTest {
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(new MinLengthTextConstraint(3, 0, "min"))
+            .build();
+
+    @Test
+    public void deliverOnCallingThreadBeforeReturning() throws Exception {
+        ExecutorService serverThread = Executors.newSingleThreadExecutor();
+        List<ValidatorResult> results = new ArrayList<>();
+        AtomicReference<Thread> callbackThread = new AtomicReference<>();
+
+        try {
+            Future<Thread> validation = serverThread.submit(() -> {
+                new DirectValidator().validate(new ValidableText("ab", null), constraintSet, (value, result) -> {
+                    callbackThread.set(Thread.currentThread());
+                    results.add(result);
+                });
+
+                assertThat(results.size(), equalTo(1));
+                return Thread.currentThread();
+            });
+
+            Thread validatingThread = validation.get(5, TimeUnit.SECONDS);
+
+            assertThat(callbackThread.get(), sameInstance(validatingThread));
+            assertThat(results.get(0).status, equalTo(ValidableStatus.NOT_VALID));
+            assertThat(results.get(0).validatorError, equalTo("min"));
+        } finally {
+            serverThread.shutdown();
+        }
+    }
+
+    @Test
+    public void deliverOnDispatcherExecutor() throws Exception {
+        ExecutorService callbackThread = Executors.newSingleThreadExecutor();
+        AtomicReference<ValidatorResult> result = new AtomicReference<>();
+        DirectValidator validator = new DirectValidator(Runnable::run, new ValidatorAlgorithmFactory(), new ExecutorResultDispatcher(callbackThread));
+
+        try {
+            validator.validate(new ValidableText("abc", null), constraintSet, (value, validatorResult) -> result.set(validatorResult));
+
+            callbackThread.shutdown();
+            assertThat(callbackThread.awaitTermination(5, TimeUnit.SECONDS), equalTo(true));
+            assertThat(result.get(), sameInstance(ValidatorResult.VALID));
+        } finally {
+            callbackThread.shutdownNow();
+        }
+    }
+}
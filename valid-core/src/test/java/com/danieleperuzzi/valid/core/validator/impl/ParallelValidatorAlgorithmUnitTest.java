@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator.impl;
+
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmData;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmResult;
+import com.danieleperuzzi.valid.mock.ConstraintMock;
+import com.danieleperuzzi.valid.text.MandatoryTextConstraint;
+import com.danieleperuzzi.valid.text.MaxLengthTextConstraint;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.RegexTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ParallelValidatorAlgorithmUnitTest {
+
+    private ForkJoinPool pool = new ForkJoinPool(4);
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(new MandatoryTextConstraint(false, 0, "mandatory"))
+            .addConstraint(new MinLengthTextConstraint(3, 1, "min"))
+            .addConstraint(new MaxLengthTextConstraint(5, 2, "max"))
+            .addConstraint(new RegexTextConstraint("[a-z]*", 3, "letters"))
+            .build();
+
+    private List<ValidatorAlgorithmResult> results = new ArrayList<>();
+
+    @After
+    public void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void postSameResultOfValidatorAlgorithm() {
+        String[] texts = {null, "", "ab", "abc", "abc1", "abcdef"};
+
+        for (String text : texts) {
+            ValidatorAlgorithmData data = new ValidatorAlgorithmData(new ValidableText(text, null), null, constraintSet, null, null);
+            new ValidatorAlgorithm(data, results::add).run();
+            new ParallelValidatorAlgorithm(data, pool, results::add).run();
+
+            ValidatorAlgorithmResult expected = results.get(results.size() - 2);
+            ValidatorAlgorithmResult actual = results.get(results.size() - 1);
+
+            assertThat(text, actual.result.status, equalTo(expected.result.status));
+            assertThat(text, actual.result.validatorError, equalTo(expected.result.validatorError));
+            assertThat(text, actual.evaluatedConstraints, equalTo(expected.evaluatedConstraints));
+        }
+    }
+
+    @Test
+    public void reportHighestPriorityFailureEvenIfSlower() {
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(new MinLengthTextConstraint(0, 0, "min"))
+                .addConstraint(new SlowFailingConstraint(1, "slow"))
+                .addConstraint(new MaxLengthTextConstraint(1, 2, "max"))
+                .build();
+        ValidatorAlgorithmData data = new ValidatorAlgorithmData(new ValidableText("abc", null), null, set, null, null);
+
+        new ParallelValidatorAlgorithm(data, pool, results::add).run();
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.get(0).result.status, equalTo(ValidableStatus.NOT_VALID));
+        assertThat(results.get(0).result.validatorError, equalTo("slow"));
+        assertThat(results.get(0).skippedConstraints, equalTo(1));
+    }
+
+    @Test
+    public void cancelLowerPriorityEvaluationsWhileHigherPriorityOnesRun() {
+        ForkJoinPool twoThreads = new ForkJoinPool(2);
+        AtomicInteger lowerPriorityEvaluations = new AtomicInteger();
+
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(new MinLengthTextConstraint(0, 0, "min"))
+                .addConstraint(new SlowConstraint(1, "slow", false, 300))
+                .addConstraint(new SlowConstraint(2, "failing", true, 0))
+                .addConstraint(new CountingConstraint(3, lowerPriorityEvaluations))
+                .addConstraint(new CountingConstraint(4, lowerPriorityEvaluations))
+                .build();
+        ValidatorAlgorithmData data = new ValidatorAlgorithmData(new ValidableText("abc", null), null, set, null, null);
+
+        try {
+            new ParallelValidatorAlgorithm(data, twoThreads, results::add).run();
+        } finally {
+            twoThreads.shutdownNow();
+        }
+
+        assertThat(results.get(0).result.validatorError, equalTo("failing"));
+        assertThat(lowerPriorityEvaluations.get(), equalTo(0));
+    }
+
+    private static class SlowFailingConstraint extends SlowConstraint {
+
+        SlowFailingConstraint(int evaluationPriority, String error) {
+            super(evaluationPriority, error, true, 50);
+        }
+    }
+
+    private static class SlowConstraint extends ConstraintMock<String, String> {
+
+        private final boolean failing;
+        private final long millis;
+
+        SlowConstraint(int evaluationPriority, String error, boolean failing, long millis) {
+            super(String.class, error, evaluationPriority, error);
+            this.failing = failing;
+            this.millis = millis;
+        }
+
+        @Override
+        public ConstraintResult evaluate(String value) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return failing ? getNotValidResult() : ConstraintResult.VALID;
+        }
+    }
+
+    private static class CountingConstraint extends ConstraintMock<String, String> {
+
+        private final AtomicInteger evaluations;
+
+        CountingConstraint(int evaluationPriority, AtomicInteger evaluations) {
+            super(String.class, "counting" + evaluationPriority, evaluationPriority, "counting");
+            this.evaluations = evaluations;
+        }
+
+        @Override
+        public ConstraintResult evaluate(String value) {
+            evaluations.incrementAndGet();
+            return ConstraintResult.VALID;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.core.validator.impl;
+
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmData;
+import com.danieleperuzzi.valid.core.validator.ValidatorAlgorithmResult;
+import com.danieleperuzzi.valid.mock.ConstraintMock;
+import com.danieleperuzzi.valid.text.MandatoryTextConstraint;
+import com.danieleperuzzi.valid.text.MaxLengthTextConstraint;
+import com.danieleperuzzi.valid.text.MinLengthTextConstraint;
+import com.danieleperuzzi.valid.text.ValidableText;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class ValidatorAlgorithmUnitTest {
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(new MandatoryTextConstraint(false, 0, "mandatory"))
+            .addConstraint(new MinLengthTextConstraint(3, 1, "min"))
+            .addConstraint(new MaxLengthTextConstraint(5, 2, "max"))
+            .build();
+
+    private List<ValidatorAlgorithmResult> results = new ArrayList<>();
+
+    @Test
+    public void postOnceWhenValid() {
+        run("abcd");
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.get(0).result.status, equalTo(ValidableStatus.VALID));
+        assertThat(results.get(0).evaluatedConstraints, equalTo(3));
+        assertThat(results.get(0).skippedConstraints, equalTo(0));
+    }
+
+    @Test
+    public void stopAtFirstNotValidConstraint() {
+        run("ab");
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.get(0).result.status, equalTo(ValidableStatus.NOT_VALID));
+        assertThat(results.get(0).result.validatorError, equalTo("min"));
+        assertThat(results.get(0).evaluatedConstraints, equalTo(2));
+        assertThat(results.get(0).skippedConstraints, equalTo(1));
+    }
+
+    @Test
+    public void stopWhenConstraintAsksTo() {
+        run("");
+
+        assertThat(results.size(), equalTo(1));
+        assertThat(results.get(0).result.status, equalTo(ValidableStatus.VALID));
+        assertThat(results.get(0).evaluatedConstraints, equalTo(1));
+        assertThat(results.get(0).skippedConstraints, equalTo(2));
+    }
+
+    @Test
+    public void postNothingWhenCancelled() {
+        ValidatorAlgorithmData data = new ValidatorAlgorithmData(new ValidableText("abcd", null), null, constraintSet, null, null);
+        ValidatorAlgorithm validatorAlgorithm = new ValidatorAlgorithm(data, results::add);
+
+        validatorAlgorithm.cancel();
+        validatorAlgorithm.run();
+
+        assertThat(validatorAlgorithm.isCancelled(), equalTo(true));
+        assertThat(results, empty());
+    }
+
+    @Test
+    public void stopEvaluatingConstraintsWhenCancelled() {
+        AtomicInteger evaluations = new AtomicInteger();
+        ValidatorAlgorithm[] validatorAlgorithm = new ValidatorAlgorithm[1];
+        ConstraintMock<String, String> cancellingConstraint = new ConstraintMock<String, String>(String.class, "cancel", 0, "") {
+            @Override
+            public ConstraintResult evaluate(String value) {
+                evaluations.incrementAndGet();
+                validatorAlgorithm[0].cancel();
+                return ConstraintResult.VALID;
+            }
+        };
+        ConstraintMock<String, String> countingConstraint = new ConstraintMock<String, String>(String.class, "count", 1, "") {
+            @Override
+            public ConstraintResult evaluate(String value) {
+                evaluations.incrementAndGet();
+                return ConstraintResult.VALID;
+            }
+        };
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(cancellingConstraint)
+                .addConstraint(countingConstraint)
+                .build();
+        ValidatorAlgorithmData data = new ValidatorAlgorithmData(new ValidableText("abcd", null), null, set, null, null);
+
+        validatorAlgorithm[0] = new ValidatorAlgorithm(data, results::add);
+        validatorAlgorithm[0].run();
+
+        assertThat(evaluations.get(), equalTo(1));
+        assertThat(results, empty());
+    }
+
+    private void run(String text) {
+        ValidatorAlgorithmData data = new ValidatorAlgorithmData(new ValidableText(text, null), null, constraintSet, null, null);
+        new ValidatorAlgorithm(data, results::add).run();
+    }
+}
@@ -32,6 +32,10 @@ public class ConstraintMock<V, C> extends Constraint<V, C> {
         super(constraint, evaluationPriority, errorMap);
     }
 
+    public ConstraintMock(Class<V> valueType, C constraint, int evaluationPriority, String error) {
+        super(valueType, constraint, evaluationPriority, error);
+    }
+
     @Override
     public C getConstraint() {
         return super.getConstraint();
@@ -52,6 +56,11 @@ public class ConstraintMock<V, C> extends Constraint<V, C> {
         return super.getErrorMap();
     }
 
+    @Override
+    public ConstraintResult getNotValidResult() {
+        return super.getNotValidResult();
+    }
+
     @Override
     public ConstraintResult evaluate(Validable<?> value) {
         return super.evaluate(value);
@@ -62,6 +71,11 @@ public class ConstraintMock<V, C> extends Constraint<V, C> {
         return null;
     }
 
+    @Override
+    public boolean canStopValidation() {
+        return false;
+    }
+
     @Override
     public boolean shouldStopValidation(Validable<?> value) {
         return super.shouldStopValidation(value);
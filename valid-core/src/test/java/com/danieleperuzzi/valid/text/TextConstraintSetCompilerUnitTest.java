@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TextConstraintSetCompilerUnitTest {
+
+    private MandatoryTextConstraint mandatory = new MandatoryTextConstraint(true, 0, "mandatory");
+    private RegexTextConstraint hasDigit = new RegexTextConstraint(".*\\d.*", 1, "digit");
+    private RegexTextConstraint hasUpper = new RegexTextConstraint(".*[A-Z].*", 2, "upper");
+    private RegexTextConstraint hasSymbol = new RegexTextConstraint(".*[^A-Za-z0-9].*", 3, "symbol");
+    private MaxLengthTextConstraint maxLength = new MaxLengthTextConstraint(10, 4, "max");
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(maxLength)
+            .addConstraint(hasSymbol)
+            .addConstraint(mandatory)
+            .addConstraint(hasUpper)
+            .addConstraint(hasDigit)
+            .build();
+
+    @Test
+    public void fuseConsecutiveTextConstraints() {
+        SortedConstraintSet compiledSet = TextConstraintSetCompiler.compile(constraintSet);
+        List<Constraint<?, ?>> constraints = new ArrayList<>(compiledSet.getConstraints());
+
+        assertThat(constraints.size(), equalTo(1));
+        assertThat(constraints.get(0), instanceOf(FusedTextConstraint.class));
+        assertThat(constraints.get(0).getEvaluationPriority(), equalTo(0));
+    }
+
+    @Test
+    public void mergeConsecutiveRegexConstraints() {
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(hasSymbol)
+                .addConstraint(hasUpper)
+                .addConstraint(hasDigit)
+                .build();
+
+        List<Constraint<?, ?>> constraints = new ArrayList<>(TextConstraintSetCompiler.compile(set).getConstraints());
+
+        assertThat(constraints.size(), equalTo(1));
+        assertThat(constraints.get(0), instanceOf(MultiRegexTextConstraint.class));
+        assertThat(constraints.get(0).getEvaluationPriority(), equalTo(1));
+    }
+
+    @Test
+    public void reportSameErrorAsSequentialEvaluation() {
+        SortedConstraintSet optionalSet = new SortedConstraintSet.Builder()
+                .addConstraint(new MandatoryTextConstraint(false, 0, "mandatory"))
+                .addConstraint(new MinLengthTextConstraint(3, 1, "min"))
+                .addConstraint(hasDigit)
+                .addConstraint(new RegexTextConstraint("(a)\\1", 2, "backreference"))
+                .addConstraint(maxLength)
+                .build();
+
+        assertSameErrorAsSequentialEvaluation(constraintSet);
+        assertSameErrorAsSequentialEvaluation(optionalSet);
+    }
+
+    @Test
+    public void leaveSetWithoutRunsUntouched() {
+        MinLengthTextConstraint minLength = new MinLengthTextConstraint(3, 1, "min") {};
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(mandatory)
+                .addConstraint(minLength)
+                .addConstraint(maxLength)
+                .build();
+
+        assertThat(TextConstraintSetCompiler.compile(set), sameInstance(set));
+    }
+
+    @Test
+    public void leaveUnsupportedRegexRunsUntouched() {
+        RegexTextConstraint backreference = new RegexTextConstraint("(a)\\1", 2, "backreference");
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(hasDigit)
+                .addConstraint(backreference)
+                .build();
+
+        assertThat(TextConstraintSetCompiler.compile(set), sameInstance(set));
+    }
+
+    private void assertSameErrorAsSequentialEvaluation(SortedConstraintSet set) {
+        SortedConstraintSet compiledSet = TextConstraintSetCompiler.compile(set);
+        String[] texts = {null, "", "a", "abc", "abc1", "Abc1", "Abc1!", "Abc1!Abc1!Abc1!", "ABC!"};
+
+        for (String text : texts) {
+            ConstraintResult expected = evaluate(set, text);
+            ConstraintResult actual = evaluate(compiledSet, text);
+
+            assertThat(text, actual.status, equalTo(expected.status));
+            assertThat(text, actual.constraintError, equalTo(expected.constraintError));
+        }
+    }
+
+    private ConstraintResult evaluate(SortedConstraintSet set, String text) {
+        ValidableText validable = new ValidableText(text, null);
+        ConstraintResult result = null;
+
+        for (Constraint<?, ?> constraint : set.getConstraints()) {
+            result = constraint.evaluate(validable);
+
+            if (result.status == ValidableStatus.NOT_VALID || constraint.shouldStopValidation(validable)) {
+                return result;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text;
+
+import com.danieleperuzzi.valid.core.ValidableStatus;
+import com.danieleperuzzi.valid.core.constraint.Constraint;
+import com.danieleperuzzi.valid.core.constraint.ConstraintResult;
+import com.danieleperuzzi.valid.core.constraint.SortedConstraintSet;
+import com.danieleperuzzi.valid.text.TextConstraintSetOptimizer.OptimizedConstraintSet;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class TextConstraintSetOptimizerUnitTest {
+
+    private MinLengthTextConstraint minLength8 = new MinLengthTextConstraint(8, 0, "min 8");
+    private MandatoryTextConstraint mandatory = new MandatoryTextConstraint(true, 1, "mandatory");
+    private MinLengthTextConstraint minLength3 = new MinLengthTextConstraint(3, 2, "min 3");
+    private MaxLengthTextConstraint noMaxLength = new MaxLengthTextConstraint(-1, 3, "no max");
+    private RegexTextConstraint hasDigit = new RegexTextConstraint(".*\\d.*", 4, "digit");
+    private MaxLengthTextConstraint maxLength10 = new MaxLengthTextConstraint(10, 5, "max 10");
+    private RegexTextConstraint hasDigitAgain = new RegexTextConstraint(".*\\d.*", 6, "digit again");
+    private MaxLengthTextConstraint maxLength20 = new MaxLengthTextConstraint(20, 7, "max 20");
+
+    private SortedConstraintSet constraintSet = new SortedConstraintSet.Builder()
+            .addConstraint(minLength8)
+            .addConstraint(mandatory)
+            .addConstraint(minLength3)
+            .addConstraint(noMaxLength)
+            .addConstraint(hasDigit)
+            .addConstraint(maxLength10)
+            .addConstraint(hasDigitAgain)
+            .addConstraint(maxLength20)
+            .build();
+
+    @Test
+    public void removeImpliedConstraints() {
+        OptimizedConstraintSet optimized = TextConstraintSetOptimizer.optimize(constraintSet);
+        List<Constraint<?, ?>> constraints = new ArrayList<>(optimized.constraintSet.getConstraints());
+
+        assertThat(constraints, contains((Constraint<?, ?>) minLength8, hasDigit, maxLength10));
+        assertThat(optimized.removedConstraints.size(), equalTo(5));
+        assertRemoved(optimized, 0, mandatory, minLength8);
+        assertRemoved(optimized, 1, minLength3, minLength8);
+        assertRemoved(optimized, 2, noMaxLength, null);
+        assertRemoved(optimized, 3, hasDigitAgain, hasDigit);
+        assertRemoved(optimized, 4, maxLength20, maxLength10);
+    }
+
+    @Test
+    public void keepStricterLaterConstraints() {
+        MinLengthTextConstraint laterMinLength8 = new MinLengthTextConstraint(8, 3, "min 8");
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(minLength3)
+                .addConstraint(laterMinLength8)
+                .addConstraint(new MandatoryTextConstraint(false, 4, "optional"))
+                .build();
+
+        OptimizedConstraintSet optimized = TextConstraintSetOptimizer.optimize(set);
+
+        assertThat(optimized.removedConstraints.size(), equalTo(1));
+        assertRemoved(optimized, 0, optimized.removedConstraints.get(0).constraint, laterMinLength8);
+        assertThat(new ArrayList<>(optimized.constraintSet.getConstraints()), contains((Constraint<?, ?>) minLength3, laterMinLength8));
+    }
+
+    @Test
+    public void leaveSetWithoutRedundanciesUntouched() {
+        SortedConstraintSet set = new SortedConstraintSet.Builder()
+                .addConstraint(mandatory)
+                .addConstraint(hasDigit)
+                .addConstraint(maxLength10)
+                .build();
+
+        OptimizedConstraintSet optimized = TextConstraintSetOptimizer.optimize(set);
+
+        assertThat(optimized.constraintSet, sameInstance(set));
+        assertThat(optimized.removedConstraints, empty());
+    }
+
+    @Test
+    public void reportSameErrorAsOriginalSet() {
+        SortedConstraintSet optionalSet = new SortedConstraintSet.Builder()
+                .addConstraint(new MandatoryTextConstraint(false, 0, "optional"))
+                .addConstraint(new MinLengthTextConstraint(0, 1, "min 0"))
+                .addConstraint(new MandatoryTextConstraint(true, 2, "mandatory"))
+                .addConstraint(new MinLengthTextConstraint(1, 3, "min 1"))
+                .addConstraint(new RegexTextConstraint(null, 4, "null regex"))
+                .build();
+
+        assertSameError(constraintSet);
+        assertSameError(optionalSet);
+    }
+
+    private void assertRemoved(OptimizedConstraintSet optimized, int index, Constraint<?, ?> constraint, Constraint<?, ?> impliedBy) {
+        TextConstraintSetOptimizer.RemovedConstraint removed = optimized.removedConstraints.get(index);
+
+        assertThat(removed.constraint, sameInstance((Object) constraint));
+        assertThat(removed.impliedBy, sameInstance((Object) impliedBy));
+    }
+
+    private void assertSameError(SortedConstraintSet set) {
+        SortedConstraintSet optimizedSet = TextConstraintSetOptimizer.optimize(set).constraintSet;
+        String[] texts = {null, "", "a", "abc", "abc1", "abcdefgh", "abcdefg1", "abcdefghij1", "abcdefghijklmnopqrstuvwxyz1"};
+
+        for (String text : texts) {
+            ConstraintResult expected = evaluate(set, text);
+            ConstraintResult actual = evaluate(optimizedSet, text);
+
+            assertThat(text, actual.status, equalTo(expected.status));
+            assertThat(text, actual.constraintError, equalTo(expected.constraintError));
+        }
+    }
+
+    private ConstraintResult evaluate(SortedConstraintSet set, String text) {
+        ValidableText validable = new ValidableText(text, null);
+        ConstraintResult result = ConstraintResult.VALID;
+
+        for (Constraint<?, ?> constraint : set.getConstraints()) {
+            result = constraint.evaluate(validable);
+
+            if (result.status == ValidableStatus.NOT_VALID || constraint.shouldStopValidation(validable)) {
+                return result;
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.text.regex;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class DfaRegexUnitTest {
+
+    private static final String EMAIL = "[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,6}";
+
+    private static final String[] REGEXES = {
+            EMAIL,
+            "^\\d{3,5}$",
+            "(a|b)*abb",
+            "(?:ab|a)*?c",
+            "[^abc]{2}",
+            "\\w+\\s?\\W*",
+            "a{0,3}b{2,}",
+            "^(?:[A-Z][a-z]*)$|^\\d+$",
+            ".*"
+    };
+
+    private static final String[] TEXTS = {
+            "", "a", "abb", "aababb", "abc", "ac", "xy", "ab", "a\n", "\n",
+            "1234", "12", "123456", "Lorem", "lorem", "john.doe@mail.com", "john@mail", "bb", "aaabbb", "_ -"
+    };
+
+    @Test
+    public void matchLikePattern() {
+        for (String regex : REGEXES) {
+            DfaRegex dfaRegex = DfaRegex.compile(regex);
+            Pattern pattern = Pattern.compile(regex);
+
+            for (String text : TEXTS) {
+                assertThat(regex + " on " + text, dfaRegex.matches(text), equalTo(pattern.matcher(text).matches()));
+            }
+        }
+    }
+
+    @Test
+    public void matchSupplementaryCodePointsAsSingleChar() {
+        DfaRegex dfaRegex = DfaRegex.compile("^.$");
+
+        assertThat(dfaRegex.matches(new String(Character.toChars(0x1F600))), is(true));
+    }
+
+    @Test
+    public void matchPathologicalInputInLinearTime() {
+        DfaRegex dfaRegex = DfaRegex.compile("(a+)+b");
+        StringBuilder text = new StringBuilder();
+
+        for (int i = 0; i < 100000; i++) {
+            text.append('a');
+        }
+
+        assertThat(dfaRegex.matches(text), is(false));
+        assertThat(dfaRegex.stateCount(), lessThan(10));
+    }
+
+    @Test
+    public void findFirstNotMatchingRegex() {
+        MultiDfaRegex multiDfaRegex = MultiDfaRegex.compile(Arrays.asList(".*\\d.*", ".*[A-Z].*", ".{6,}"));
+
+        assertThat(multiDfaRegex.firstNotMatching("abc"), equalTo(0));
+        assertThat(multiDfaRegex.firstNotMatching("abc1"), equalTo(1));
+        assertThat(multiDfaRegex.firstNotMatching("Abc1"), equalTo(2));
+        assertThat(multiDfaRegex.firstNotMatching("Abcde1"), equalTo(-1));
+    }
+
+    @Test
+    public void rejectUnsupportedConstructs() {
+        String[] unsupportedRegexes = {"(a)\\1", "(?=a)", "a++", "\\bfoo", "[[a]]", "(?i)a", "\\p{L}", "a^", "(a$)"};
+
+        for (String regex : unsupportedRegexes) {
+            try {
+                DfaRegex.compile(regex);
+                throw new AssertionError(regex + " should be rejected");
+            } catch (UnsupportedRegexException e) {
+                assertThat(e.getRegex(), equalTo(regex));
+            }
+        }
+    }
+}
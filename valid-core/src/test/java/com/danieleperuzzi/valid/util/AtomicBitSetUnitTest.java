@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class AtomicBitSetUnitTest {
+
+    @Test
+    public void flipBitsOnce() {
+        AtomicBitSet bitSet = new AtomicBitSet(10);
+
+        assertThat(bitSet.isEmpty(), equalTo(true));
+        assertThat(bitSet.set(3), equalTo(true));
+        assertThat(bitSet.set(3), equalTo(false));
+        assertThat(bitSet.get(3), equalTo(true));
+        assertThat(bitSet.isEmpty(), equalTo(false));
+        assertThat(bitSet.clear(3), equalTo(true));
+        assertThat(bitSet.clear(3), equalTo(false));
+        assertThat(bitSet.isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void countAndWalkSetBitsAcrossWords() {
+        AtomicBitSet bitSet = new AtomicBitSet(200);
+        List<Integer> setBits = new ArrayList<>();
+
+        bitSet.set(0);
+        bitSet.set(63);
+        bitSet.set(64);
+        bitSet.set(199);
+
+        for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+            setBits.add(i);
+        }
+
+        assertThat(bitSet.cardinality(), equalTo(4));
+        assertThat(setBits, contains(0, 63, 64, 199));
+        assertThat(bitSet.nextSetBit(200), equalTo(-1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectIndexOutOfSize() {
+        new AtomicBitSet(10).set(10);
+    }
+}
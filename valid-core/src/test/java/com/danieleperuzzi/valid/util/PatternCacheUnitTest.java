@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.util;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class PatternCacheUnitTest {
+
+    private PatternCache cache = new PatternCache(2);
+
+    @Test
+    public void sameRegexReturnsSamePattern() {
+        Pattern first = cache.getPattern("[a-z]+");
+        Pattern second = cache.getPattern("[a-z]+");
+
+        assertThat(second, sameInstance(first));
+        assertThat(cache.getMissCount(), equalTo(1L));
+        assertThat(cache.getHitCount(), equalTo(1L));
+    }
+
+    @Test
+    public void flagsArePartOfTheKey() {
+        Pattern first = cache.getPattern("[a-z]+");
+        Pattern second = cache.getPattern("[a-z]+", Pattern.CASE_INSENSITIVE);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.flags(), equalTo(Pattern.CASE_INSENSITIVE));
+        assertThat(cache.getMissCount(), equalTo(2L));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        Pattern first = cache.getPattern("a");
+        cache.getPattern("b");
+        cache.getPattern("a");
+        cache.getPattern("c");
+
+        assertThat(cache.size(), equalTo(2));
+        assertThat(cache.getEvictionCount(), equalTo(1L));
+        assertThat(cache.getPattern("a"), sameInstance(first));
+
+        cache.getPattern("b");
+
+        assertThat(cache.getMissCount(), equalTo(4L));
+        assertThat(cache.getEvictionCount(), equalTo(2L));
+    }
+
+    @Test
+    public void clearResetsCounters() {
+        cache.getPattern("a");
+        cache.getPattern("a");
+        cache.clear();
+
+        assertThat(cache.size(), equalTo(0));
+        assertThat(cache.getHitCount(), equalTo(0L));
+        assertThat(cache.getMissCount(), equalTo(0L));
+        assertThat(cache.getEvictionCount(), equalTo(0L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectNotPositiveSize() {
+        new PatternCache(0);
+    }
+}
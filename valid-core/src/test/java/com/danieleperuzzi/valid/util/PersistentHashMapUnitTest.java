@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 Daniele Peruzzi. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.danieleperuzzi.valid.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+public class PersistentHashMapUnitTest {
+
+    @Test
+    public void leaveOriginalUntouched() {
+        PersistentHashMap<String, Integer> first = PersistentHashMap.<String, Integer>empty().plus("a", 1);
+        PersistentHashMap<String, Integer> second = first.plus("b", 2);
+        PersistentHashMap<String, Integer> third = second.minus("a");
+
+        assertThat(first.size(), equalTo(1));
+        assertThat(first.get("b"), nullValue());
+        assertThat(second.size(), equalTo(2));
+        assertThat(second.get("a"), equalTo(1));
+        assertThat(third.size(), equalTo(1));
+        assertThat(third.containsKey("a"), equalTo(false));
+    }
+
+    @Test
+    public void returnSameMapWhenNothingChanges() {
+        Integer value = 1;
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().plus("a", value);
+
+        assertThat(map.plus("a", value), sameInstance(map));
+        assertThat(map.minus("b"), sameInstance(map));
+    }
+
+    @Test
+    public void keepKeysWithSameHash() {
+        CollidingKey first = new CollidingKey(1);
+        CollidingKey second = new CollidingKey(2);
+        CollidingKey third = new CollidingKey(3);
+
+        PersistentHashMap<CollidingKey, String> map = PersistentHashMap.<CollidingKey, String>empty()
+                .plus(first, "first")
+                .plus(second, "second")
+                .plus(third, "third");
+
+        assertThat(map.size(), equalTo(3));
+        assertThat(map.get(second), equalTo("second"));
+        assertThat(map.minus(second).get(second), nullValue());
+        assertThat(map.minus(second).get(third), equalTo("third"));
+        assertThat(map.keySet(), containsInAnyOrder(first, second, third));
+    }
+
+    @Test
+    public void behaveAsHashMap() {
+        Random random = new Random(42);
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+
+        for (int i = 0; i < 20000; i++) {
+            Integer key = random.nextInt(2000) * (random.nextBoolean() ? 1 : 65536);
+
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, i);
+                map = map.plus(key, i);
+            }
+        }
+
+        assertThat(map.size(), equalTo(expected.size()));
+        assertThat(map, equalTo(expected));
+        assertThat(PersistentHashMap.copyOf(expected), equalTo(expected));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void rejectMutation() {
+        PersistentHashMap.<String, Integer>empty().put("a", 1);
+    }
+
+    private static class CollidingKey {
+
+        private final int id;
+
+        private CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 7;
+        }
+    }
+}